@@ -0,0 +1,28 @@
+package uk.gov.homeoffice.digital.sas.jparest;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * A filter that has been compiled from a SpelExpression by the
+ * {@link SpelExpressionToPredicateConverter}.
+ *
+ * <p>The attribute names, operators and literal values of the filter
+ * are resolved when the plan is compiled so binding the plan to a query
+ * only creates the criteria predicate. Plans hold no reference to the
+ * query they were compiled against and are safe to share between threads.
+ */
+@FunctionalInterface
+public interface FilterPlan {
+
+  /**
+   * <p>Binds the plan to a query.</p>
+   *
+   * @param builder The CriteriaBuilder of the query
+   * @param root    The root or join the filter applies to
+   * @return a {@link jakarta.persistence.criteria.Predicate}.
+   */
+  Predicate toPredicate(CriteriaBuilder builder, From<?, ?> root);
+
+}
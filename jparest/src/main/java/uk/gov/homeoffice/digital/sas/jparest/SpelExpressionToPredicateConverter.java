@@ -5,6 +5,7 @@ import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.ast.Literal;
@@ -22,12 +23,17 @@ import org.springframework.expression.spel.ast.OperatorNot;
 import org.springframework.expression.spel.ast.PropertyOrFieldReference;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.util.Assert;
-import org.springframework.web.bind.WebDataBinder;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.InvalidFilterException;
-import uk.gov.homeoffice.digital.sas.jparest.utils.WebDataBinderFactory;
+import uk.gov.homeoffice.digital.sas.jparest.utils.CacheStatistics;
+import uk.gov.homeoffice.digital.sas.jparest.utils.LiteralConverters;
+import uk.gov.homeoffice.digital.sas.jparest.utils.LruCache;
 
 /**
  * <p>sed to convert SpelExpression into a JPA predicate.</p>
+ *
+ * <p>The SpelExpression is first compiled into a {@link FilterPlan} which is
+ * cached by entity type and normalised filter text. Repeated filters only
+ * bind the cached plan to the CriteriaBuilder and root of the query.</p>
  */
 public class SpelExpressionToPredicateConverter {
 
@@ -37,7 +43,13 @@ public class SpelExpressionToPredicateConverter {
   private static final Logger LOGGER = Logger.getLogger(
       SpelExpressionToPredicateConverter.class.getName());
 
-  private static WebDataBinder binder = WebDataBinderFactory.getWebDataBinder();
+  public static final int PLAN_CACHE_MAXIMUM_SIZE = 512;
+
+  private static final LruCache<PlanKey, FilterPlan> planCache =
+      new LruCache<>(PLAN_CACHE_MAXIMUM_SIZE);
+
+  private record PlanKey(Class<?> entityType, String filter) {
+  }
 
   /**
    * <p>Converts SpelExpression to a JPA predicate.</p>
@@ -56,21 +68,48 @@ public class SpelExpressionToPredicateConverter {
     Assert.notNull(builder, "builder must not be null!");
     Assert.notNull(root, "root must not be null!");
 
-    LOGGER.fine("Converting SpelExpression AST to predicate");
-    return getPredicate(from.getAST(), builder, root);
+    return compile(from, root).toPredicate(builder, root);
+  }
+
+  /**
+   * <p>Compiles the SpelExpression into a {@link FilterPlan} for the entity type
+   * of the given root, returning a cached plan if the filter has already been compiled.</p>
+   *
+   * @param from The source SpelExpression, must not be {@literal null}.
+   * @param root The root or join the filter applies to, must not be {@literal null}.
+   * @return the compiled {@link FilterPlan}.
+   */
+  public static FilterPlan compile(SpelExpression from, From<?, ?> root) {
+    Assert.notNull(from, "from must not be null!");
+    Assert.notNull(root, "root must not be null!");
+
+    var ast = from.getAST();
+    var key = new PlanKey(root.getJavaType(), ast.toStringAST());
+    return planCache.computeIfAbsent(key, k -> {
+      LOGGER.fine("Compiling SpelExpression AST to filter plan");
+      return getPlan(ast, root);
+    });
+  }
+
+  public static CacheStatistics getPlanCacheStatistics() {
+    return planCache.getStatistics();
+  }
+
+  public static void clearPlanCache() {
+    planCache.clear();
   }
 
-  private static Predicate getPredicate(SpelNode node, CriteriaBuilder builder, From<?, ?> root) {
+  private static FilterPlan getPlan(SpelNode node, From<?, ?> root) {
 
     // Handle logical operators
-    var logicalPredicate = getLogicalPredicate(node, builder, root);
-    if (logicalPredicate != null) {
-      return logicalPredicate;
+    var logicalPlan = getLogicalPlan(node, root);
+    if (logicalPlan != null) {
+      return logicalPlan;
     }
 
     // Handle method references
     if (node instanceof MethodReference methodReference) {
-      return getMethodPredicate(methodReference, builder, root);
+      return getMethodPlan(methodReference, root);
     }
 
     // At this point we are looking for "property {operator} property/literal"
@@ -87,17 +126,19 @@ public class SpelExpressionToPredicateConverter {
       throw new InvalidFilterException("Left hand side must be a field");
     }
 
-    PropertyOrFieldReference fieldReference = (PropertyOrFieldReference) leftNode;
-    Path<Comparable<Object>> field = root.get(fieldReference.getName());
+    String fieldName = ((PropertyOrFieldReference) leftNode).getName();
+    Class<?> clazz = root.get(fieldName).getJavaType();
 
     // Get the right side
     SpelNode rightNode = node.getChild(1);
     // handle field comparison
     if (rightNode instanceof PropertyOrFieldReference propertyOrFieldReference) {
-      Path<Comparable<Object>> rightField = root.get(propertyOrFieldReference.getName());
-      var predicate = getEqualityOrRelativeOperatorPredicate(node, builder, field, rightField);
-      if (predicate != null) {
-        return predicate;
+      String rightFieldName = propertyOrFieldReference.getName();
+      root.get(rightFieldName);
+      var comparison = getFieldComparison(node);
+      if (comparison != null) {
+        return (builder, from) -> comparison.toPredicate(
+            builder, getPath(from, fieldName), getPath(from, rightFieldName));
       }
 
       LOGGER.severe(
@@ -109,16 +150,19 @@ public class SpelExpressionToPredicateConverter {
 
     // handle literal comparison
     if (Literal.class.isAssignableFrom(rightNode.getClass())) {
-      Class<?> clazz = field.getJavaType();
-      Object rightValue = convertTo(((Literal) rightNode).getLiteralValue().getValue(), clazz);
+      Object rightValue = LiteralConverters.forType(clazz)
+          .apply(((Literal) rightNode).getLiteralValue().getValue());
       @SuppressWarnings("unchecked")
       Comparable<Object> comparableValue = (Comparable<Object>) rightValue;
-      var predicate = getEqualityOrRelativeOperatorPredicate(node, builder, field, comparableValue);
-      if (predicate != null) {
-        return predicate;
+      var comparison = getValueComparison(node);
+      if (comparison != null) {
+        return (builder, from) -> comparison.toPredicate(
+            builder, getPath(from, fieldName), comparableValue);
       }
       if (node instanceof OperatorMatches) {
-        return builder.like(field.as(String.class), (String) rightValue);
+        var pattern = (String) rightValue;
+        return (builder, from) -> builder.like(
+            getPath(from, fieldName).as(String.class), pattern);
       }
 
       LOGGER.severe(
@@ -131,57 +175,66 @@ public class SpelExpressionToPredicateConverter {
 
   }
 
-  private static Predicate getLogicalPredicate(
-      SpelNode node, CriteriaBuilder builder, From<?, ?> root) {
+  private static FilterPlan getLogicalPlan(SpelNode node, From<?, ?> root) {
     if (node instanceof OpOr) {
-      var x = getPredicate(node.getChild(0), builder, root);
-      var y = getPredicate(node.getChild(1), builder, root);
-      return builder.or(x, y);
+      var x = getPlan(node.getChild(0), root);
+      var y = getPlan(node.getChild(1), root);
+      return (builder, from) -> builder.or(
+          x.toPredicate(builder, from), y.toPredicate(builder, from));
     } else if (node instanceof OpAnd) {
-      var x = getPredicate(node.getChild(0), builder, root);
-      var y = getPredicate(node.getChild(1), builder, root);
-      return builder.and(x, y);
+      var x = getPlan(node.getChild(0), root);
+      var y = getPlan(node.getChild(1), root);
+      return (builder, from) -> builder.and(
+          x.toPredicate(builder, from), y.toPredicate(builder, from));
     } else if (node instanceof OperatorNot) {
-      var x = getPredicate(node.getChild(0), builder, root);
-      return builder.not(x);
+      var x = getPlan(node.getChild(0), root);
+      return (builder, from) -> builder.not(x.toPredicate(builder, from));
     }
     return null;
   }
 
-  private static Predicate getEqualityOrRelativeOperatorPredicate(
-      SpelNode node, CriteriaBuilder builder,
-      Path<Comparable<Object>> field, Comparable<Object> comparableValue) {
+  @FunctionalInterface
+  private interface ValueComparison {
+    Predicate toPredicate(CriteriaBuilder builder,
+                          Path<Comparable<Object>> field, Comparable<Object> value);
+  }
+
+  @FunctionalInterface
+  private interface FieldComparison {
+    Predicate toPredicate(CriteriaBuilder builder,
+                          Path<Comparable<Object>> field, Path<Comparable<Object>> other);
+  }
+
+  private static ValueComparison getValueComparison(SpelNode node) {
     if (node instanceof OpEQ) {
-      return builder.equal(field, comparableValue);
+      return CriteriaBuilder::equal;
     } else if (node instanceof OpNE) {
-      return builder.notEqual(field, comparableValue);
+      return CriteriaBuilder::notEqual;
     } else if (node instanceof OpGE) {
-      return builder.greaterThanOrEqualTo(field, comparableValue);
+      return CriteriaBuilder::greaterThanOrEqualTo;
     } else if (node instanceof OpGT) {
-      return builder.greaterThan(field, comparableValue);
+      return CriteriaBuilder::greaterThan;
     } else if (node instanceof OpLE) {
-      return builder.lessThanOrEqualTo(field, comparableValue);
+      return CriteriaBuilder::lessThanOrEqualTo;
     } else if (node instanceof OpLT) {
-      return builder.lessThan(field, comparableValue);
+      return CriteriaBuilder::lessThan;
     }
     return null;
   }
 
-  private static Predicate getEqualityOrRelativeOperatorPredicate(
-      SpelNode node, CriteriaBuilder builder,
-      Path<Comparable<Object>> field, Path<Comparable<Object>> comparableField) {
+  private static FieldComparison getFieldComparison(SpelNode node) {
     if (node instanceof OpEQ) {
-      return builder.equal(field, comparableField);
+      return CriteriaBuilder::equal;
     } else if (node instanceof OpNE) {
-      return builder.notEqual(field, comparableField);
+      return CriteriaBuilder::notEqual;
     } else if (node instanceof OpGE) {
-      return builder.greaterThanOrEqualTo(field, comparableField);
+      return CriteriaBuilder::greaterThanOrEqualTo;
     } else if (node instanceof OpGT) {
-      return builder.greaterThan(field, comparableField);
+      return CriteriaBuilder::greaterThan;
     } else if (node instanceof OpLE) {
-      return builder.lessThanOrEqualTo(field, comparableField);
+      return CriteriaBuilder::lessThanOrEqualTo;
     } else if (node instanceof OpLT) {
-      return builder.lessThan(field, comparableField);
+      return CriteriaBuilder::lessThan;
     }
     return null;
   }
@@ -191,13 +244,12 @@ public class SpelExpressionToPredicateConverter {
   }
 
   /**
-   * <p>Converts Spel Method reference to predicate
+   * <p>Compiles Spel Method reference to a filter plan
    * Possible methods are.</p>
    * <ul><li>In
    * <li>Between</ul>
    */
-  private static Predicate getMethodPredicate(
-      MethodReference node, CriteriaBuilder builder, From<?, ?> root) {
+  private static FilterPlan getMethodPlan(MethodReference node, From<?, ?> root) {
     Method method;
     try {
       method = Method.valueOf(node.getName().toUpperCase());
@@ -211,21 +263,23 @@ public class SpelExpressionToPredicateConverter {
       throw new InvalidFilterException("First argument must be a field");
     }
 
-    PropertyOrFieldReference fieldReference = (PropertyOrFieldReference) firstArg;
-    Path<Comparable<Object>> field = root.get(fieldReference.getName());
-    Class<?> clazz = field.getJavaType();
+    String fieldName = ((PropertyOrFieldReference) firstArg).getName();
+    Class<?> clazz = root.get(fieldName).getJavaType();
 
     Comparable<Object>[] args;
 
-    // Create the appropriate predicate
+    // Create the appropriate plan
     switch (method) {
       case BETWEEN:
         args = getLiteralValues(node, 1, clazz);
-        return builder.between(root.get(fieldReference.getName()), args[0], args[1]);
+        var lower = args[0];
+        var upper = args[1];
+        return (builder, from) -> builder.between(getPath(from, fieldName), lower, upper);
       default:
       case IN:
         args = getLiteralValues(node, 1, clazz);
-        return field.in((Object[]) args);
+        var values = args;
+        return (builder, from) -> getPath(from, fieldName).in((Object[]) values);
     }
   }
 
@@ -235,19 +289,18 @@ public class SpelExpressionToPredicateConverter {
   @SuppressWarnings("unchecked")
   private static Comparable<Object>[] getLiteralValues(
       SpelNode node, int startPos, Class<?> clazz) {
+    // Resolve the converter once for all the literals of the field
+    var converter = (Function<Object, Comparable<Object>>) LiteralConverters.forType(clazz);
     ArrayList<Comparable<Object>> items = new ArrayList<>();
     for (int i = startPos; i < node.getChildCount(); i++) {
-      Comparable<Object> rightValue =
-          (Comparable<Object>) convertTo(
-            ((Literal) node.getChild(i)).getLiteralValue().getValue(), clazz);
-      items.add(rightValue);
+      items.add(converter.apply(((Literal) node.getChild(i)).getLiteralValue().getValue()));
     }
     var result = new Comparable[node.getChildCount() - 1];
     return items.toArray(result);
   }
 
-  private static <Y> Y convertTo(Object value, Class<Y> clazz) {
-    return binder.convertIfNecessary(value, clazz);
+  private static Path<Comparable<Object>> getPath(From<?, ?> root, String fieldName) {
+    return root.get(fieldName);
   }
 
-}
\ No newline at end of file
+}
@@ -31,4 +31,36 @@ public @interface Resource {
    * @return array of examples of the parameter
    **/
   ExampleObject[] filterExamples() default {};
+
+  /**
+   * (Optional) The attributes to fetch with the resource when a list of
+   * resources is read. Attributes that are not listed are not loaded.
+   *
+   * <p>Fetching a collection when reading a page of resources means the page
+   * is applied in memory so single valued attributes should be preferred.
+   *
+   * @return array of attribute names
+   */
+  String[] fetchOnList() default {};
+
+  /**
+   * (Optional) The attributes to fetch with the resource when a single
+   * resource is read. Attributes that are not listed are not loaded.
+   *
+   * @return array of attribute names
+   */
+  String[] fetchOnGet() default {};
+
+  /**
+   * (Optional) Whether reads of a single resource by id use Hibernate's query cache.
+   * Suited to reference data that is read often and changes rarely. The entity must
+   * also be annotated with {@link jakarta.persistence.Cacheable} and
+   * {@link org.hibernate.annotations.Cache}, and a second level cache region factory
+   * must be configured. Only reads in read only transactions use the caches, reads
+   * before a change always go to the database. Hits and misses are counted by
+   * Hibernate's statistics once {@code hibernate.generate_statistics} is enabled.
+   *
+   * @return true if reads by id are cached
+   */
+  boolean cacheable() default false;
 }
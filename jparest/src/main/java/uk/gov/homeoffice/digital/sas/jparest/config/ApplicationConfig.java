@@ -3,16 +3,19 @@ package uk.gov.homeoffice.digital.sas.jparest.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import uk.gov.homeoffice.digital.sas.jparest.ResourceEndpoint;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.exceptionhandling.ApiResponseExceptionHandler;
 import uk.gov.homeoffice.digital.sas.jparest.factory.ResourceApiControllerFactory;
 import uk.gov.homeoffice.digital.sas.jparest.factory.ResourceApiServiceFactory;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursorSigner;
 import uk.gov.homeoffice.digital.sas.jparest.service.BaseEntityCheckerService;
 import uk.gov.homeoffice.digital.sas.jparest.service.ControllerRegistererService;
 import uk.gov.homeoffice.digital.sas.jparest.swagger.PathItemCreator;
@@ -49,9 +52,14 @@ public class ApplicationConfig {
     return new ApiResponseExceptionHandler();
   }
 
+  /**
+   * Validates large bulk creates and updates in parallel on the common fork-join pool,
+   * or on the request thread when jparest.batch.parallel-validation is false.
+   */
   @Bean
-  public EntityValidator entityValidator() {
-    return new EntityValidator();
+  public EntityValidator entityValidator(
+      @Value("${jparest.batch.parallel-validation:true}") boolean parallelValidation) {
+    return parallelValidation ? new EntityValidator() : new EntityValidator(Runnable::run, 1);
   }
 
   @Bean
@@ -65,12 +73,28 @@ public class ApplicationConfig {
         entityManager, entityValidator, context, transactionManager, baseEntityCheckerService);
   }
 
+  /**
+   * Signs the keyset cursors with the jparest.cursor.secret property. The secret is
+   * required so that every instance of an application accepts the cursors of the others.
+   */
+  @Bean
+  public KeysetCursorSigner keysetCursorSigner(
+      @Value("${jparest.cursor.secret:}") String cursorSecret) {
+    if (!StringUtils.hasText(cursorSecret)) {
+      throw new IllegalStateException("The jparest.cursor.secret property must be set, "
+          + "with the same value on every instance of the application, to sign cursors");
+    }
+    return new KeysetCursorSigner(cursorSecret);
+  }
+
   @Bean
   public ResourceApiControllerFactory resourceApiControllerFactory(
       ObjectMapper objectMapper,
       GenericApplicationContext context,
-      ResourceApiServiceFactory resourceApiServiceFactory) {
-    return new ResourceApiControllerFactory(objectMapper, context, resourceApiServiceFactory);
+      ResourceApiServiceFactory resourceApiServiceFactory,
+      KeysetCursorSigner keysetCursorSigner) {
+    return new ResourceApiControllerFactory(
+        objectMapper, context, resourceApiServiceFactory, keysetCursorSigner);
   }
 
   @Bean
@@ -3,6 +3,7 @@ package uk.gov.homeoffice.digital.sas.jparest.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -10,6 +11,7 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.homeoffice.digital.sas.jparest.web.ApiResponseHttpMessageConverter;
 import uk.gov.homeoffice.digital.sas.jparest.web.SpelExpressionArgumentResolver;
 
 @EnableWebMvc
@@ -18,6 +20,23 @@ public class JpaRestMvcConfig implements WebMvcConfigurer {
 
   private final ObjectMapper objectMapper;
 
+  @Value("${jparest.filter.cache.maximum-size:"
+      + SpelExpressionArgumentResolver.DEFAULT_CACHE_MAXIMUM_SIZE + "}")
+  private int filterCacheMaximumSize = SpelExpressionArgumentResolver.DEFAULT_CACHE_MAXIMUM_SIZE;
+
+  @Value("${jparest.filter.cache.maximum-length:"
+      + SpelExpressionArgumentResolver.DEFAULT_CACHE_MAXIMUM_LENGTH + "}")
+  private long filterCacheMaximumLength =
+      SpelExpressionArgumentResolver.DEFAULT_CACHE_MAXIMUM_LENGTH;
+
+  @Value("${jparest.filter.maximum-length:"
+      + SpelExpressionArgumentResolver.DEFAULT_MAXIMUM_FILTER_LENGTH + "}")
+  private int filterMaximumLength = SpelExpressionArgumentResolver.DEFAULT_MAXIMUM_FILTER_LENGTH;
+
+  @Value("${jparest.filter.maximum-depth:"
+      + SpelExpressionArgumentResolver.DEFAULT_MAXIMUM_FILTER_DEPTH + "}")
+  private int filterMaximumDepth = SpelExpressionArgumentResolver.DEFAULT_MAXIMUM_FILTER_DEPTH;
+
   public JpaRestMvcConfig(ObjectMapper objectMapper) {
     this.objectMapper = objectMapper;
   }
@@ -27,7 +46,9 @@ public class JpaRestMvcConfig implements WebMvcConfigurer {
    */
   @Override
   public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
-    argumentResolvers.add(new SpelExpressionArgumentResolver());
+    argumentResolvers.add(new SpelExpressionArgumentResolver(
+        filterCacheMaximumSize, filterCacheMaximumLength,
+        filterMaximumLength, filterMaximumDepth));
   }
 
   /**
@@ -40,11 +61,16 @@ public class JpaRestMvcConfig implements WebMvcConfigurer {
    * module. This prevents lazy loading of related entities.The ObjectMapper
    * is also configured to not serialise empty objects.
    *
+   * <p>An {@link ApiResponseHttpMessageConverter} is added first so responses of
+   * the controllers are written with the same ObjectMapper their content ETags
+   * are computed with.
+   *
    * @param converters the list of configured converters to be extended
    * @since 4.1.3
    */
   @Override
   public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(0, new ApiResponseHttpMessageConverter(objectMapper));
     for (HttpMessageConverter<?> converter : converters) {
       if (converter
           instanceof MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter) {
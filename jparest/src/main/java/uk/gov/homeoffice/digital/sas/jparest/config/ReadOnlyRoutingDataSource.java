@@ -0,0 +1,50 @@
+package uk.gov.homeoffice.digital.sas.jparest.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read only transactions to a replica and every other
+ * connection to the primary.
+ *
+ * <p>The transaction is only known to be read only after the transaction manager has
+ * begun it, so the data source must be wrapped in a {@link LazyConnectionDataSourceProxy}
+ * that only fetches a connection when the first statement is run. Use
+ * {@link #create(DataSource, DataSource)} to create the data source to expose as the
+ * application's {@code DataSource} bean.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+  enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica) {
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Creates a data source that routes read only transactions to the replica.
+   *
+   * @param primary The data source of the primary database
+   * @param replica The data source of the read replica
+   * @return the routing data source wrapped so connections are fetched lazily
+   */
+  public static DataSource create(DataSource primary, DataSource replica) {
+    return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica));
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ? Route.REPLICA
+        : Route.PRIMARY;
+  }
+
+}
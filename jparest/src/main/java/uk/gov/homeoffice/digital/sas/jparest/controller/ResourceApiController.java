@@ -1,26 +1,65 @@
 package uk.gov.homeoffice.digital.sas.jparest.controller;
 
+import static uk.gov.homeoffice.digital.sas.jparest.utils.CommonUtils.getFieldNameOrThrow;
+
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.Version;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
+import uk.gov.homeoffice.digital.sas.jparest.controller.enums.CountMode;
+import uk.gov.homeoffice.digital.sas.jparest.controller.enums.RequestParameter;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.OperationNotSupportedException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceModifiedException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.TenantIdMismatchException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.UnknownResourcePropertyException;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+import uk.gov.homeoffice.digital.sas.jparest.repository.Aggregate;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursor;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursorSigner;
 import uk.gov.homeoffice.digital.sas.jparest.service.ResourceApiService;
 import uk.gov.homeoffice.digital.sas.jparest.web.ApiResponse;
+import uk.gov.homeoffice.digital.sas.jparest.web.ApiResponseHttpMessageConverter;
 import uk.gov.homeoffice.digital.sas.jparest.web.PatchOperation;
 import uk.gov.homeoffice.digital.sas.jparest.web.SupportedPatchOperations;
 
@@ -30,33 +69,236 @@ import uk.gov.homeoffice.digital.sas.jparest.web.SupportedPatchOperations;
  * and filtering resources.
  *
  * <p>Resources for ManyToMany relationships can also be queried.
+ *
+ * <p>Lists of resources return a cursor for the next page in the response
+ * metadata. Supplying it in the cursor parameter reads the next page by
+ * seeking past the last item instead of skipping rows with an offset.
+ * The same cursor is also returned as the next URL. The total number of
+ * resources is only counted when it is requested with the count parameter.
+ *
+ * <p>Reads return an ETag and honour the If-None-Match header, responding with
+ * 304 Not Modified when the resource hasn't changed. Updates honour the If-Match
+ * header, responding with 412 Precondition Failed when the resource has changed.
+ *
+ * <p>Large lists can be streamed as newline delimited JSON instead of being
+ * read into memory a page at a time.
  */
 @ResponseBody
 @Controller
 public class ResourceApiController<T extends BaseEntity> {
 
+  public static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+
+  private static final String PAGE_PARAMETER = "page";
+  private static final String TENANT_ID_FIELD_NAME =
+      getFieldNameOrThrow(BaseEntity.class, "tenantId");
+  private static final String ID_MISMATCH_ON_UPDATE =
+      "The supplied payload resource id value must match the url id path parameter value";
+  private static final String ID_PROVIDED_ON_CREATE =
+      "A resource id should not be provided when creating a new resource.";
+
   @Getter
   private final Class<T> entityType;
   private final ResourceApiService<T> service;
   private final ObjectMapper objectMapper;
+  private final KeysetCursorSigner cursorSigner;
+  private Map<String, String> propertyNames;
+  private List<String> versionPropertyNames;
+  private Map<String, String> jsonNames;
 
 
   @SuppressWarnings("unchecked")
   public ResourceApiController(Class<T> entityType, 
                                ResourceApiService<T> service,
-                               ObjectMapper objectMapper) {
+                               ObjectMapper objectMapper,
+                               KeysetCursorSigner cursorSigner) {
     this.entityType = entityType;
     this.service = service;
     this.objectMapper = objectMapper;
+    this.cursorSigner = cursorSigner;
   }
 
+  /**
+   * Reads a page of resources. The response has a strong ETag derived from its
+   * content and, if it matches the If-None-Match header of the request, nothing
+   * is returned and the response status is 304.
+   *
+   * <p>The resources related to the page through the comma separated relations in
+   * include are read with one query for each relation and returned in the included
+   * property of the response, so the number of queries doesn't depend on the size
+   * of the page.
+   */
   public ApiResponse<T> list(
-      @RequestParam UUID tenantId, Pageable pageable, SpelExpression filter) {
-    return new ApiResponse<>(service.getAllResources(tenantId, pageable, filter));
+      @RequestParam UUID tenantId,
+      Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) String count,
+      SpelExpression filter,
+      @RequestParam(required = false) String include,
+      WebRequest webRequest) {
+    var countMode = CountMode.fromValue(count);
+    var keysetCursor = KeysetCursor.decode(cursor, cursorSigner);
+    var page = service.getAllResources(tenantId, pageable, filter, keysetCursor);
+    var response = createPageResponse(page, keysetCursor, countMode,
+        () -> service.countAllResources(tenantId, filter, countMode));
+    addIncluded(response, tenantId, splitNames(include));
+    return isContentNotModified(webRequest, response) ? null : response;
+  }
+
+  /**
+   * Reads a page of resources with only the comma separated fields. Only the
+   * columns of the fields, the id and the sort properties are selected and each
+   * resource is returned as an object with just those properties.
+   */
+  public ApiResponse<Map<String, Object>> listFields(
+      @RequestParam UUID tenantId,
+      Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) String count,
+      @RequestParam String fields,
+      SpelExpression filter) {
+    var countMode = CountMode.fromValue(count);
+    var keysetCursor = KeysetCursor.decode(cursor, cursorSigner);
+    var page = service.getAllResourceFields(
+        tenantId, pageable, filter, keysetCursor, getFieldPropertyNames(fields));
+    return createPageResponse(page, this::toJsonNames, keysetCursor, countMode,
+        () -> service.countAllResources(tenantId, filter, countMode));
   }
 
-  public ApiResponse<T> get(@RequestParam UUID tenantId, @PathVariable UUID id) {
-    return new ApiResponse<>(service.getResource(tenantId, id));
+  /**
+   * Reads a resource with only the comma separated fields and its id.
+   */
+  public ApiResponse<Map<String, Object>> getFields(@RequestParam UUID tenantId,
+                                                    @PathVariable UUID id,
+                                                    @RequestParam String fields) {
+    return new ApiResponse<>(toJsonNames(
+        service.getResourceFields(tenantId, id, getFieldPropertyNames(fields))));
+  }
+
+  /**
+   * Aggregates the resources that match the filter in a single query. The comma
+   * separated aggregates are calculated for each group of resources with the same
+   * values of the comma separated group by properties, or for all the resources if
+   * there are none. Groups can be sorted by the group by properties or the
+   * aggregates, e.g. sort=sum(hours),desc, and are paged by offset.
+   */
+  public ApiResponse<Map<String, Object>> aggregate(
+      @RequestParam UUID tenantId,
+      Pageable pageable,
+      SpelExpression filter,
+      @RequestParam String aggregate,
+      @RequestParam(required = false) String groupBy) {
+    var propertyNames = getPropertyNames();
+    var aggregates = splitNames(aggregate).stream()
+        .map(expression -> Aggregate.parse(
+            expression, name -> propertyNames.getOrDefault(name, name)))
+        .toList();
+    if (aggregates.isEmpty()) {
+      throw new IllegalArgumentException("At least one aggregate must be requested");
+    }
+    var groupByPropertyNames = splitNames(groupBy).stream()
+        .map(name -> propertyNames.getOrDefault(name, name))
+        .toList();
+    var sort = Sort.by(pageable.getSort().stream()
+        .map(order -> order.withProperty(
+            propertyNames.getOrDefault(order.getProperty(), order.getProperty())))
+        .toList());
+
+    var page = service.getAggregates(tenantId,
+        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort),
+        filter, groupByPropertyNames, aggregates);
+    var response = new ApiResponse<>(page.getContent().stream().map(this::toJsonNames).toList());
+    if (page.hasNext()) {
+      response.getMeta().setNext(getNextUrl(PAGE_PARAMETER, page.getNumber() + 1));
+    }
+    return response;
+  }
+
+  /**
+   * Writes every resource that matches the filter as newline delimited JSON.
+   * Resources are written as they are read from the database so memory use
+   * does not depend on the number of resources.
+   */
+  public ResponseEntity<StreamingResponseBody> stream(
+      @RequestParam UUID tenantId, Sort sort, SpelExpression filter) {
+
+    StreamingResponseBody body = outputStream -> {
+      try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        service.streamAllResources(tenantId, sort, filter, item -> writeLine(generator, item));
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Reads a resource. The response has a strong ETag derived from the version of
+   * the resource when it has a {@link jakarta.persistence.Version} attribute, or
+   * else from the content of the response. If the ETag matches the If-None-Match
+   * header of the request nothing is returned and the response status is 304.
+   *
+   * <p>When the resource is versioned and the request has an If-None-Match header
+   * only the version is read first, so an unchanged resource is never loaded.
+   *
+   * <p>The resources related to it through the comma separated relations in include
+   * are returned in the included property of the response. When relations are
+   * included the ETag is always derived from the content of the response, as the
+   * related resources don't change its version.
+   */
+  public ApiResponse<T> get(@RequestParam UUID tenantId,
+                            @PathVariable UUID id,
+                            @RequestParam(required = false) String include,
+                            WebRequest webRequest) {
+    var relations = splitNames(include);
+    var versioned = service.isVersioned() && relations.isEmpty();
+    if (webRequest != null && versioned) {
+      var ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+      if (ifNoneMatch != null) {
+        var etag = getVersionEtag(service.getResourceVersion(tenantId, id));
+        if (matchesAny(ifNoneMatch, etag, true)) {
+          webRequest.checkNotModified(etag);
+          return null;
+        }
+      }
+    }
+
+    var resource = service.getResource(tenantId, id);
+    var response = new ApiResponse<>(resource);
+    addIncluded(response, tenantId, relations);
+    var notModified = versioned
+        ? isNotModified(webRequest, getVersionEtag(service.getVersion(resource)))
+        : isContentNotModified(webRequest, response);
+    return notModified ? null : response;
+  }
+
+  /**
+   * Reads the resources with the comma separated ids in the order of the ids. Ids that
+   * don't match a resource of the tenant are ignored, as are repeated ids. The ids are
+   * looked up directly rather than through a filter, so no expression is parsed and no
+   * literal is converted for each id.
+   */
+  public ApiResponse<T> getByIds(@RequestParam UUID tenantId, @RequestParam List<UUID> ids) {
+    if (ids == null || ids.isEmpty()) {
+      throw new IllegalArgumentException("At least one id must be requested");
+    }
+    return new ApiResponse<>(service.getResources(tenantId, ids));
+  }
+
+  /**
+   * Reads the resources with the comma separated ids, in the order of the ids, with only
+   * the comma separated fields and their ids.
+   *
+   * @see #getByIds(UUID, List)
+   */
+  public ApiResponse<Map<String, Object>> getFieldsByIds(@RequestParam UUID tenantId,
+                                                         @RequestParam List<UUID> ids,
+                                                         @RequestParam String fields) {
+    if (ids == null || ids.isEmpty()) {
+      throw new IllegalArgumentException("At least one id must be requested");
+    }
+    return new ApiResponse<>(service.getResourcesFields(tenantId, ids,
+        getFieldPropertyNames(fields)).stream().map(this::toJsonNames).toList());
   }
 
   public ApiResponse<T> create(@RequestParam UUID tenantId, @RequestBody String body)
@@ -66,63 +308,189 @@ public class ResourceApiController<T extends BaseEntity> {
     validateAndSetTenantIdPayloadMatch(tenantId, entity);
 
     if (Objects.nonNull(entity.getId())) {
-      throw new IllegalArgumentException(
-        "A resource id should not be provided when creating a new resource.");
+      throw new IllegalArgumentException(ID_PROVIDED_ON_CREATE);
     }
     return new ApiResponse<>(service.createResource(entity));
   }
 
+  /**
+   * Creates all of the resources in the body or none of them. If any resource
+   * is invalid the errors for every invalid resource are returned, the field
+   * of each error starts with the index of the resource in the body.
+   */
+  public ApiResponse<T> createBatch(@RequestParam UUID tenantId,
+                                    @RequestBody List<Object> body) {
+
+    var entities = new ArrayList<T>(body.size());
+    var errors = new ArrayList<StructuredError>();
+    for (var i = 0; i < body.size(); i++) {
+      try {
+        T entity = convertEntityFromPayload(body.get(i));
+        validateAndSetTenantIdPayloadMatch(tenantId, entity);
+        if (Objects.nonNull(entity.getId())) {
+          throw new IllegalArgumentException(ID_PROVIDED_ON_CREATE);
+        }
+        entities.add(entity);
+      } catch (IllegalArgumentException | UnknownResourcePropertyException ex) {
+        errors.add(new StructuredError("[" + i + "]", ex.getMessage(), null));
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new ResourceConstraintViolationException(errors);
+    }
+
+    return new ApiResponse<>(service.createResources(entities));
+  }
+
   public void delete(@RequestParam UUID tenantId, @PathVariable UUID id) {
     service.deleteResource(tenantId, id);
   }
 
+  /**
+   * Updates a resource. If the request has an If-Match header the resource is only
+   * updated if its ETag still matches, otherwise a {@link ResourceModifiedException}
+   * is thrown and the response status is 412.
+   */
   public ApiResponse<T> update(@RequestParam UUID tenantId,
                                @PathVariable UUID id,
-                               @RequestBody String body) throws JsonProcessingException {
+                               @RequestBody String body,
+                               WebRequest webRequest) throws JsonProcessingException {
 
     T entity = readEntityFromPayload(body);
     validateAndSetTenantIdPayloadMatch(tenantId, entity);
 
     var payloadEntityId = service.getEntityId(entity);
     if (payloadEntityId != null && !id.equals(payloadEntityId)) {
-      throw new IllegalArgumentException(
-        "The supplied payload resource id value must match the url id path parameter value");
+      throw new IllegalArgumentException(ID_MISMATCH_ON_UPDATE);
     }
     entity.setId(id);
-    return new ApiResponse<>(service.updateResource(entity));
+    return new ApiResponse<>(service.updateResource(entity, getIfMatchPrecondition(webRequest)));
+  }
+
+  /**
+   * Applies a JSON Merge Patch (RFC 7396) to a resource. Only the properties present
+   * in the patch are read onto the stored resource and validated, so the resource
+   * doesn't need to be sent or deserialized in full and only the changed columns
+   * are written. A property with a null value is set to null.
+   *
+   * <p>The patch is applied on the condition of the If-Match header if the request
+   * has one, as for {@link #update(UUID, UUID, String, WebRequest)}.
+   */
+  public ApiResponse<T> mergePatch(@RequestParam UUID tenantId,
+                                   @PathVariable UUID id,
+                                   @RequestBody String body,
+                                   WebRequest webRequest) throws JsonProcessingException {
+
+    var patch = objectMapper.readTree(body);
+    if (patch == null || !patch.isObject()) {
+      throw new IllegalArgumentException("A merge patch must be a JSON object");
+    }
+    var objectPatch = (ObjectNode) patch;
+
+    var idNode = objectPatch.remove(EntityUtils.ID_FIELD_NAME);
+    if (idNode != null && !id.toString().equals(idNode.asText())) {
+      throw new IllegalArgumentException(ID_MISMATCH_ON_UPDATE);
+    }
+    var tenantIdNode = objectPatch.remove(TENANT_ID_FIELD_NAME);
+    if (tenantIdNode != null && !tenantId.toString().equals(tenantIdNode.asText())) {
+      throw new TenantIdMismatchException();
+    }
+
+    // The version is managed by the persistence provider
+    objectPatch.remove(getVersionPropertyNames());
+
+    var propertyNames = getPropertyNames();
+    var properties = new ArrayList<String>();
+    objectPatch.fieldNames().forEachRemaining(
+        name -> properties.add(propertyNames.getOrDefault(name, name)));
+
+    return new ApiResponse<>(service.patchResource(tenantId, id, properties,
+        entity -> applyMergePatch(entity, objectPatch), getIfMatchPrecondition(webRequest)));
   }
 
+  /**
+   * Applies a list of patch operations within one transaction.
+   *
+   * <p>A replace operation updates the resource identified by its path. A remove
+   * operation deletes the resource identified by its path and all removals are
+   * executed as bulk deletes. An add operation creates the resource in its value,
+   * its path is not used, and all additions are inserted in JDBC batches.
+   */
   public ApiResponse<T> patch(@RequestParam UUID tenantId,
                                @RequestBody List<Object> body) {
 
     var ops = readPatchOperationsFromPayload(body);
 
-    var entities = new ArrayList<T>();
+    var replacedEntities = new ArrayList<T>();
+    var addedEntities = new ArrayList<T>();
+    var removedIds = new ArrayList<UUID>();
 
     for (PatchOperation<T> patchOperation : ops) {
-      var entity = patchOperation.getValue();
-      validateAndSetTenantIdPayloadMatch(tenantId, entity);
-      validateAndSetResourceIdPayloadMatch(
-          UUID.fromString(patchOperation.getPath().replace("/", "")), entity);
-
-      if (Objects.equals(patchOperation.getOp(), SupportedPatchOperations.REPLACE.toString())) {
-        entities.add(entity);
+      var op = patchOperation.getOp();
+      if (Objects.equals(op, SupportedPatchOperations.REPLACE.toString())) {
+        var entity = patchOperation.getValue();
+        validateAndSetTenantIdPayloadMatch(tenantId, entity);
+        validateAndSetResourceIdPayloadMatch(getPatchPathId(patchOperation), entity);
+        replacedEntities.add(entity);
+      } else if (Objects.equals(op, SupportedPatchOperations.REMOVE.toString())) {
+        removedIds.add(getPatchPathId(patchOperation));
+      } else if (Objects.equals(op, SupportedPatchOperations.ADD.toString())) {
+        var entity = patchOperation.getValue();
+        if (entity == null) {
+          throw new IllegalArgumentException("An add operation must have a value");
+        }
+        validateAndSetTenantIdPayloadMatch(tenantId, entity);
+        if (Objects.nonNull(entity.getId())) {
+          throw new IllegalArgumentException(ID_PROVIDED_ON_CREATE);
+        }
+        addedEntities.add(entity);
       } else {
-        throw new OperationNotSupportedException(patchOperation.getOp());
+        throw new OperationNotSupportedException(op);
       }
     }
 
-    return new ApiResponse<>(service.updateResources(entities, tenantId));
+    return new ApiResponse<>(
+        service.patchResources(tenantId, replacedEntities, addedEntities, removedIds));
   }
 
   @SuppressWarnings("squid:S1452") // Generic wildcard types should not be used in return parameters
   public ApiResponse<?> getRelated(
       @RequestParam UUID tenantId,
       @PathVariable UUID id,
-      @PathVariable String relation, Pageable pageable, SpelExpression filter) {
+      @PathVariable String relation,
+      Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) String count,
+      SpelExpression filter) {
+
+    var countMode = CountMode.fromValue(count);
+    var keysetCursor = KeysetCursor.decode(cursor, cursorSigner);
+    var page = service.getRelatedResources(
+        tenantId, id, relation, pageable, filter, keysetCursor);
+    return createPageResponse(page, keysetCursor, countMode,
+        () -> service.countRelatedResources(tenantId, id, relation, filter, countMode));
 
-    return new ApiResponse<>(service.getRelatedResources(tenantId, id, relation, pageable, filter));
+  }
 
+  /**
+   * Reads a page of the ids of the related resources, without loading the related
+   * resources, so it's cheap to check which resources are related.
+   */
+  public ApiResponse<UUID> getRelatedIds(
+      @RequestParam UUID tenantId,
+      @PathVariable UUID id,
+      @PathVariable String relation,
+      Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) String count,
+      SpelExpression filter) {
+
+    var countMode = CountMode.fromValue(count);
+    var keysetCursor = KeysetCursor.decode(cursor, cursorSigner);
+    var page = service.getRelatedIds(tenantId, id, relation, pageable, filter, keysetCursor);
+    return createPageResponse(page, item -> (UUID) item.get(EntityUtils.ID_FIELD_NAME),
+        keysetCursor, countMode,
+        () -> service.countRelatedResources(tenantId, id, relation, filter, countMode));
   }
 
   public void deleteRelated(
@@ -144,6 +512,168 @@ public class ResourceApiController<T extends BaseEntity> {
   }
 
 
+  private <R> ApiResponse<R> createPageResponse(Slice<R> page,
+                                                KeysetCursor cursor,
+                                                CountMode count,
+                                                Supplier<Long> counter) {
+    return createPageResponse(page, page.getContent(), cursor, count, counter);
+  }
+
+  /**
+   * Creates the response for a page whose items have been mapped, the cursor for the
+   * next page being created from the last item of the page before it was mapped.
+   */
+  private <S, R> ApiResponse<R> createPageResponse(Slice<S> page,
+                                                   Function<? super S, R> mapper,
+                                                   KeysetCursor cursor,
+                                                   CountMode count,
+                                                   Supplier<Long> counter) {
+    List<R> items = page.getContent().stream().<R>map(mapper).toList();
+    return createPageResponse(page, items, cursor, count, counter);
+  }
+
+  private <R> ApiResponse<R> createPageResponse(Slice<?> page,
+                                                List<R> items,
+                                                KeysetCursor cursor,
+                                                CountMode count,
+                                                Supplier<Long> counter) {
+    var response = new ApiResponse<>(items);
+    var meta = response.getMeta();
+
+    String nextCursor = KeysetCursor.next(page, cursorSigner);
+    meta.setNextCursor(nextCursor);
+    meta.setNext(getNextUrl(nextCursor));
+
+    if (count != CountMode.NONE) {
+      Long totalCount;
+      if (cursor == null && !page.hasNext() && (page.hasContent() || page.isFirst())) {
+        // The last page was read by offset so the total is known without counting
+        totalCount = page.getPageable().getOffset() + page.getNumberOfElements();
+      } else {
+        totalCount = counter.get();
+      }
+      meta.setTotalCount(totalCount);
+      meta.setTotalCountExact(
+          count == CountMode.EXACT || totalCount < service.getCountLimit());
+    }
+    return response;
+  }
+
+  private void addIncluded(ApiResponse<T> response, UUID tenantId, List<String> relations) {
+    if (relations.isEmpty()) {
+      return;
+    }
+    var ids = response.getItems().stream().map(BaseEntity::getId).toList();
+    response.setIncluded(service.getIncludedResources(
+        tenantId, ids, new LinkedHashSet<>(relations)));
+  }
+
+  private static String getVersionEtag(Object version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Returns whether the content ETag of the response matches the If-None-Match header of
+   * the request. The response is only serialized here when the request has the header,
+   * otherwise the ETag of the bytes written is added by the
+   * {@link ApiResponseHttpMessageConverter}.
+   */
+  private boolean isContentNotModified(WebRequest webRequest, Object response) {
+    if (webRequest == null) {
+      return false;
+    }
+    if (webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH) == null) {
+      webRequest.setAttribute(ApiResponseHttpMessageConverter.CONTENT_ETAG_ATTRIBUTE,
+          Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+      return false;
+    }
+    return isNotModified(webRequest, getContentEtag(response));
+  }
+
+  private String getContentEtag(Object response) {
+    try {
+      return ApiResponseHttpMessageConverter.getContentEtag(
+          objectMapper.writeValueAsBytes(response));
+    } catch (JsonProcessingException ex) {
+      // The response can't be serialized, so it will fail to be written without an ETag
+      return null;
+    }
+  }
+
+  private static boolean isNotModified(WebRequest webRequest, String etag) {
+    return webRequest != null && etag != null && webRequest.checkNotModified(etag);
+  }
+
+  /**
+   * Returns the precondition of the If-Match header of the request, or null if it
+   * doesn't have one. The stored resource satisfies the precondition if its ETag
+   * is one of the strong ETags in the header.
+   */
+  private Predicate<T> getIfMatchPrecondition(WebRequest webRequest) {
+    var ifMatch = webRequest == null ? null : webRequest.getHeaderValues(HttpHeaders.IF_MATCH);
+    if (ifMatch == null || Arrays.stream(ifMatch).anyMatch(header -> header.trim().equals("*"))) {
+      return null;
+    }
+    if (service.isVersioned()) {
+      return entity -> matchesAny(ifMatch, getVersionEtag(service.getVersion(entity)), false);
+    }
+    return entity -> matchesAny(ifMatch, getContentEtag(new ApiResponse<>(entity)), false);
+  }
+
+  private static boolean matchesAny(String[] headers, String etag, boolean weakComparison) {
+    for (String header : headers) {
+      for (String candidate : header.split(",")) {
+        candidate = candidate.trim();
+        if (candidate.startsWith("W/")) {
+          if (!weakComparison) {
+            continue;
+          }
+          candidate = candidate.substring(2);
+        }
+        if (candidate.equals(etag)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static URL getNextUrl(String nextCursor) {
+    if (nextCursor == null) {
+      return null;
+    }
+    return getNextUrl(RequestParameter.CURSOR.getParamName(), nextCursor);
+  }
+
+  /**
+   * Returns the URL of the current request with the query parameter that selects
+   * the next page replaced, or null outside a request.
+   */
+  private static URL getNextUrl(String parameter, Object value) {
+    if (RequestContextHolder.getRequestAttributes() == null) {
+      return null;
+    }
+    try {
+      return ServletUriComponentsBuilder.fromCurrentRequest()
+          .replaceQueryParam(PAGE_PARAMETER)
+          .replaceQueryParam(parameter, value)
+          .build()
+          .toUri()
+          .toURL();
+    } catch (MalformedURLException ex) {
+      throw new IllegalStateException("Unable to create the URL of the next page", ex);
+    }
+  }
+
+  private static void writeLine(JsonGenerator generator, Object item) {
+    try {
+      generator.writeObject(item);
+      generator.writeRaw('\n');
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   private T readEntityFromPayload(String body) throws JsonProcessingException {
     try {
       return objectMapper.readValue(body, entityType);
@@ -153,6 +683,144 @@ public class ResourceApiController<T extends BaseEntity> {
     }
   }
 
+  private void applyMergePatch(T entity, ObjectNode patch) {
+    try {
+      objectMapper.readerForUpdating(entity).readValue(mergeObjectProperties(entity, patch));
+    } catch (UnrecognizedPropertyException ex) {
+      throw new UnknownResourcePropertyException(
+        ex.getPropertyName(), ex.getReferringClass().getSimpleName());
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException(ex.getOriginalMessage(), ex);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Merges the objects in the patch into the current values of their properties, as
+   * RFC 7396 requires, so that members the patch leaves out are kept rather than the
+   * whole value being replaced by the patch.
+   */
+  private ObjectNode mergeObjectProperties(T entity, ObjectNode patch) {
+    var merged = patch.deepCopy();
+    for (var property : findProperties()) {
+      if (!(merged.get(property.getName()) instanceof ObjectNode objectPatch)
+          || property.getAccessor() == null) {
+        continue;
+      }
+      var current = property.getAccessor().getValue(entity);
+      if (current != null && objectMapper.valueToTree(current) instanceof ObjectNode target) {
+        merged.set(property.getName(), mergeObjects(target, objectPatch));
+      }
+    }
+    return merged;
+  }
+
+  private static ObjectNode mergeObjects(ObjectNode target, ObjectNode patch) {
+    patch.fields().forEachRemaining(member -> {
+      var value = member.getValue();
+      if (value.isNull()) {
+        target.remove(member.getKey());
+      } else if (value instanceof ObjectNode objectValue
+          && target.get(member.getKey()) instanceof ObjectNode objectTarget) {
+        mergeObjects(objectTarget, objectValue);
+      } else {
+        target.set(member.getKey(), value);
+      }
+    });
+    return target;
+  }
+
+  /**
+   * Returns the names of the properties of the resource keyed by their JSON names.
+   */
+  private Map<String, String> getPropertyNames() {
+    if (propertyNames == null) {
+      propertyNames = findProperties().stream().collect(Collectors.toUnmodifiableMap(
+          BeanPropertyDefinition::getName, BeanPropertyDefinition::getInternalName));
+    }
+    return propertyNames;
+  }
+
+  private List<String> getFieldPropertyNames(String fields) {
+    var propertyNames = getPropertyNames();
+    var fieldPropertyNames = splitNames(fields).stream()
+        .map(field -> propertyNames.getOrDefault(field, field))
+        .toList();
+    if (fieldPropertyNames.isEmpty()) {
+      throw new IllegalArgumentException("At least one field must be requested");
+    }
+    return fieldPropertyNames;
+  }
+
+  /**
+   * Splits a comma separated parameter, ignoring blank names.
+   */
+  private static List<String> splitNames(String names) {
+    if (names == null) {
+      return List.of();
+    }
+    var result = new ArrayList<String>();
+    for (String name : names.split(",")) {
+      name = name.trim();
+      if (!name.isEmpty()) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
+  private Map<String, Object> toJsonNames(Map<String, Object> fields) {
+    var jsonNames = getJsonNames();
+    var result = new LinkedHashMap<String, Object>(fields.size() * 2);
+    fields.forEach((name, value) -> result.put(jsonNames.getOrDefault(name, name), value));
+    return result;
+  }
+
+  /**
+   * Returns the JSON names of the properties of the resource keyed by the property names.
+   */
+  private Map<String, String> getJsonNames() {
+    if (jsonNames == null) {
+      jsonNames = findProperties().stream().collect(Collectors.toUnmodifiableMap(
+          BeanPropertyDefinition::getInternalName, BeanPropertyDefinition::getName,
+          (first, second) -> first));
+    }
+    return jsonNames;
+  }
+
+  /**
+   * Returns the JSON names of the version attribute of the resource.
+   */
+  private List<String> getVersionPropertyNames() {
+    if (versionPropertyNames == null) {
+      versionPropertyNames = findProperties().stream()
+          .filter(property -> property.getField() != null
+              && property.getField().hasAnnotation(Version.class))
+          .map(BeanPropertyDefinition::getName)
+          .toList();
+    }
+    return versionPropertyNames;
+  }
+
+  private List<BeanPropertyDefinition> findProperties() {
+    return objectMapper.getDeserializationConfig()
+        .introspect(objectMapper.constructType(entityType))
+        .findProperties();
+  }
+
+  private T convertEntityFromPayload(Object item) {
+    try {
+      return objectMapper.convertValue(item, entityType);
+    } catch (IllegalArgumentException ex) {
+      if (ex.getCause() instanceof UnrecognizedPropertyException cause) {
+        throw new UnknownResourcePropertyException(
+          cause.getPropertyName(), cause.getReferringClass().getSimpleName());
+      }
+      throw ex;
+    }
+  }
+
   private List<PatchOperation<T>> readPatchOperationsFromPayload(List<Object> body) {
     var opList = new ArrayList<PatchOperation<T>>();
     var patchOperationType = objectMapper.getTypeFactory().constructParametricType(
@@ -164,6 +832,14 @@ public class ResourceApiController<T extends BaseEntity> {
     return opList;
   }
 
+  private UUID getPatchPathId(PatchOperation<T> patchOperation) {
+    if (patchOperation.getPath() == null) {
+      throw new IllegalArgumentException(
+          "A " + patchOperation.getOp() + " operation must have a path");
+    }
+    return UUID.fromString(patchOperation.getPath().replace("/", ""));
+  }
+
   private void validateAndSetTenantIdPayloadMatch(UUID requestTenantId, T entity) {
 
     var entityTenantId = entity.getTenantId();
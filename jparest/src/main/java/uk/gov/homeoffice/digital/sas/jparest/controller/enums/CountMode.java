@@ -0,0 +1,56 @@
+package uk.gov.homeoffice.digital.sas.jparest.controller.enums;
+
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+/**
+ * How the total number of resources is counted when a list of resources is returned.
+ */
+@Getter
+public enum CountMode {
+
+  /**
+   * Counts every resource that matches the filter.
+   */
+  EXACT("exact"),
+  /**
+   * Counts the matching resources up to a limit. The count is exact
+   * when there are fewer resources than the limit.
+   */
+  CAPPED("capped"),
+  /**
+   * The resources are not counted.
+   */
+  NONE("none");
+
+  private final String value;
+
+  CountMode(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns the mode for the value of the count request parameter.
+   *
+   * @param value The value of the request parameter
+   * @return the mode, {@link #NONE} if no value is supplied
+   * @throws IllegalArgumentException if the value is not a known mode
+   */
+  public static CountMode fromValue(String value) {
+    if (!StringUtils.hasText(value)) {
+      return NONE;
+    }
+    var normalized = value.trim().toLowerCase(Locale.ROOT);
+    return Stream.of(values())
+        .filter(mode -> mode.value.equals(normalized))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(
+            "count must be one of " + Stream.of(values())
+                .map(CountMode::getValue)
+                .collect(Collectors.joining(", "))));
+  }
+
+}
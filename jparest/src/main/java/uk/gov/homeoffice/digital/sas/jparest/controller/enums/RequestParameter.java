@@ -8,7 +8,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.Getter;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.web.context.request.WebRequest;
 
 @Getter
 public enum RequestParameter {
@@ -18,9 +20,22 @@ public enum RequestParameter {
   RELATION("relation", ParameterType.PATH, String.class, true, 30),
   RELATED_IDS("relatedIds", ParameterType.PATH, List.class, true, 40),
   PAGEABLE("pageable", ParameterType.QUERY, Pageable.class, true, 50),
+  SORT("sort", ParameterType.QUERY, Sort.class, false, 51),
+  CURSOR("cursor", ParameterType.QUERY, String.class, false, 55),
+  IDS("ids", ParameterType.QUERY, List.class, false, 56),
+  IDS_ONLY("idsOnly", ParameterType.QUERY, Boolean.class, false, 56),
+  COUNT("count", ParameterType.QUERY, String.class, false, 57),
+  STREAM("stream", ParameterType.QUERY, Boolean.class, false, 58),
+  FIELDS("fields", ParameterType.QUERY, String.class, false, 59),
   FILTER("filter", ParameterType.QUERY, SpelExpression.class, false, 60),
+  AGGREGATE("aggregate", ParameterType.QUERY, String.class, true, 61),
+  GROUP_BY("groupBy", ParameterType.QUERY, String.class, false, 62),
+  INCLUDE("include", ParameterType.QUERY, String.class, false, 63),
   BODY("body", ParameterType.BODY, String.class, true, 200),
-  LIST_BODY("list_body", ParameterType.BODY, List.class, true, 200);
+  LIST_BODY("list_body", ParameterType.BODY, List.class, true, 200),
+  // The conditional request headers are read from the WebRequest
+  IF_NONE_MATCH("If-None-Match", ParameterType.HEADER, WebRequest.class, false, 300),
+  IF_MATCH("If-Match", ParameterType.HEADER, WebRequest.class, false, 310);
 
   private final String paramName;
   private final ParameterType paramType;
@@ -53,7 +68,8 @@ public enum RequestParameter {
 
     QUERY("query"),
     PATH("path"),
-    BODY("body");
+    BODY("body"),
+    HEADER("header");
 
     @Getter
     private final String type;
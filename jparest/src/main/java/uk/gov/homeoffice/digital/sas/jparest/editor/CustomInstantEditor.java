@@ -5,6 +5,14 @@ import java.time.Instant;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+/**
+ * Converts text to an {@link Instant}.
+ *
+ * @deprecated filters no longer use property editors, convert literals with
+ *     {@link uk.gov.homeoffice.digital.sas.jparest.utils.LiteralConverters#forType(Class)}
+ *     instead.
+ */
+@Deprecated
 public class CustomInstantEditor extends PropertyEditorSupport {
 
   @Override
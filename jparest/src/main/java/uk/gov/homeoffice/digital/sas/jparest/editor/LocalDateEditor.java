@@ -5,6 +5,14 @@ import java.time.LocalDate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+/**
+ * Converts text to a {@link LocalDate}.
+ *
+ * @deprecated filters no longer use property editors, convert literals with
+ *     {@link uk.gov.homeoffice.digital.sas.jparest.utils.LiteralConverters#forType(Class)}
+ *     instead.
+ */
+@Deprecated
 public class LocalDateEditor extends PropertyEditorSupport {
 
   @Override
@@ -0,0 +1,16 @@
+package uk.gov.homeoffice.digital.sas.jparest.exceptions;
+
+/**
+ * Thrown when a resource is updated on the condition that it hasn't been modified
+ * since it was read, but it has.
+ */
+public class ResourceModifiedException extends RuntimeException {
+
+  private static final String RESOURCE_MODIFIED_ERROR_FORMAT =
+      "Resource with id: %s has been modified";
+
+  public ResourceModifiedException(Object id) {
+    super(String.format(RESOURCE_MODIFIED_ERROR_FORMAT, id));
+  }
+
+}
@@ -3,10 +3,12 @@ package uk.gov.homeoffice.digital.sas.jparest.exceptions.exceptionhandling;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.SERVER_ERROR;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import java.util.List;
 import java.util.logging.Logger;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.InvalidFilterException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceModifiedException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.TenantIdMismatchException;
@@ -55,6 +58,21 @@ public class ApiResponseExceptionHandler {
     return createResponseEntity(ex.getMessage(), HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(ResourceModifiedException.class)
+  public ResponseEntity<ApiErrorResponse> handleResourceModifiedException(
+      ResourceModifiedException ex) {
+    return createResponseEntity(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+  }
+
+  @ExceptionHandler({
+    OptimisticLockException.class,
+    OptimisticLockingFailureException.class
+  })
+  public ResponseEntity<ApiErrorResponse> handleOptimisticLockException(Exception ex) {
+    return createResponseEntity(
+        "The resource was modified by another request", HttpStatus.PRECONDITION_FAILED);
+  }
+
   @ExceptionHandler(UnexpectedQueryResultException.class)
   public ResponseEntity<ApiErrorResponse> handleUnexpectedQueryResultException(
       UnexpectedQueryResultException ex) {
@@ -6,6 +6,7 @@ import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.stereotype.Component;
 import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursorSigner;
 
 @Component
 @AllArgsConstructor
@@ -14,6 +15,7 @@ public class ResourceApiControllerFactory {
   private final ObjectMapper objectMapper;
   private final GenericApplicationContext context;
   private final ResourceApiServiceFactory resourceApiServiceFactory;
+  private final KeysetCursorSigner keysetCursorSigner;
 
 
   public <T extends BaseEntity> ResourceApiController<T> getControllerBean(
@@ -22,7 +24,7 @@ public class ResourceApiControllerFactory {
     var resourceApiService = resourceApiServiceFactory.getServiceBean(resourceClass);
 
     var controller = new ResourceApiController<>(
-        resourceClass, resourceApiService, objectMapper);
+        resourceClass, resourceApiService, objectMapper, keysetCursorSigner);
 
     context.registerBean(
         resourceClass.getSimpleName() + ResourceApiController.class.getSimpleName(),
@@ -1,6 +1,7 @@
 package uk.gov.homeoffice.digital.sas.jparest.factory;
 
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -10,6 +11,7 @@ import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
 import uk.gov.homeoffice.digital.sas.jparest.repository.TenantRepositoryImpl;
 import uk.gov.homeoffice.digital.sas.jparest.service.BaseEntityCheckerService;
 import uk.gov.homeoffice.digital.sas.jparest.service.ResourceApiService;
+import uk.gov.homeoffice.digital.sas.jparest.utils.PropertyCopier;
 import uk.gov.homeoffice.digital.sas.jparest.validation.EntityValidator;
 
 @Component
@@ -21,6 +23,12 @@ public class ResourceApiServiceFactory {
   private final TransactionTemplate transactionTemplate;
   private final BaseEntityCheckerService baseEntityCheckerService;
 
+  @Value("${jparest.batch.size:" + ResourceApiService.DEFAULT_BATCH_SIZE + "}")
+  private int batchSize = ResourceApiService.DEFAULT_BATCH_SIZE;
+
+  @Value("${jparest.count.limit:" + ResourceApiService.DEFAULT_COUNT_LIMIT + "}")
+  private long countLimit = ResourceApiService.DEFAULT_COUNT_LIMIT;
+
   public ResourceApiServiceFactory(EntityManager entityManager,
                                    EntityValidator entityValidator,
                                    GenericApplicationContext context,
@@ -36,12 +44,16 @@ public class ResourceApiServiceFactory {
   public <T extends BaseEntity> ResourceApiService<T> getServiceBean(Class<T> resourceClass) {
 
     var entityUtils = new EntityUtils<>(resourceClass, baseEntityCheckerService);
+    // Create the property copier used by updates now rather than on the first update
+    PropertyCopier.forType(resourceClass);
 
     var resourceApiService = new ResourceApiService<>(
             entityUtils,
             new TenantRepositoryImpl<>(resourceClass, entityManager),
             entityValidator,
-            transactionTemplate);
+            transactionTemplate,
+            batchSize,
+            countLimit);
 
     context.registerBean(
         resourceClass.getSimpleName() + ResourceApiService.class.getSimpleName(),
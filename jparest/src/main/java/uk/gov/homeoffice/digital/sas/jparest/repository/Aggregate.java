@@ -0,0 +1,67 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * An aggregate function applied to a property of the resources, for example
+ * {@code sum(hours)}. Only {@code count} can be applied to every resource, in
+ * which case the property is null.
+ *
+ * @param function The aggregate function
+ * @param property The name of the property the function is applied to, or null
+ * @param name     The name of the result of the function in the response
+ */
+public record Aggregate(Function function, String property, String name) {
+
+  private static final Pattern AGGREGATE_PATTERN =
+      Pattern.compile("(\\w+)(?:\\(\\s*(\\w*)\\s*\\))?");
+
+  public enum Function {
+    COUNT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+  }
+
+  /**
+   * Parses an aggregate written as {@code function(property)}, or {@code count}.
+   *
+   * @param expression     The aggregate to parse
+   * @param toPropertyName Maps the property name in the expression to the name of
+   *                       the property of the entity
+   * @return the aggregate, named after the expression
+   * @throws IllegalArgumentException if the expression isn't a valid aggregate
+   */
+  public static Aggregate parse(String expression, UnaryOperator<String> toPropertyName) {
+    var matcher = AGGREGATE_PATTERN.matcher(expression.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(invalidAggregate(expression));
+    }
+
+    Function function;
+    try {
+      function = Function.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException(invalidAggregate(expression), ex);
+    }
+
+    var property = matcher.group(2);
+    if (property == null || property.isEmpty()) {
+      if (function != Function.COUNT) {
+        throw new IllegalArgumentException(invalidAggregate(expression));
+      }
+      return new Aggregate(function, null, function.name().toLowerCase(Locale.ROOT));
+    }
+    return new Aggregate(function, toPropertyName.apply(property),
+        function.name().toLowerCase(Locale.ROOT) + "(" + property + ")");
+  }
+
+  private static String invalidAggregate(String expression) {
+    return String.format("%s is not a valid aggregate, aggregates are count or one of "
+        + "count, sum, avg, min or max applied to a property, e.g. sum(property)", expression);
+  }
+
+}
@@ -0,0 +1,161 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.model.domain.BasicDomainType;
+import org.hibernate.persister.collection.QueryableCollection;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.util.Assert;
+import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+
+/**
+ * The statements that read and change the rows of the join table of a
+ * {@link jakarta.persistence.ManyToMany} relation directly, so links can be added and
+ * removed without loading the collection. The table and column names are read from
+ * Hibernate's mapping of the relation once, when the statements are created.
+ *
+ * <p>The statements only name the join table as the table they change, so Hibernate
+ * only invalidates the cached queries of that table, and the cached collections of the
+ * relation are evicted after each change. Collections already loaded in the persistence
+ * context are not updated.
+ *
+ * <p>Relations stored with an index, such as lists with an
+ * {@link jakarta.persistence.OrderColumn}, can't be changed by these statements as they
+ * don't write the index. {@link #isIndexed()} tells the repository to change the loaded
+ * collection of those relations instead.
+ */
+final class JoinTableStatements {
+
+  private static final String ID_PARAMETER = "id";
+  private static final String IDS_PARAMETER = "ids";
+  private static final String TENANT_ID_PARAMETER = "tenantId";
+  private static final String RELATED_ID_ALIAS = "related_id";
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final String role;
+  private final boolean indexed;
+  private final String tableName;
+  private final List<String> inverseRoles = new ArrayList<>();
+  private final BasicDomainType<UUID> idType;
+  private final BasicDomainType<UUID> relatedIdType;
+  private final BasicDomainType<UUID> tenantIdType;
+  private final String findRelatedIdsQuery;
+  private final String insertQuery;
+  private final String deleteQuery;
+
+  @SuppressWarnings("unchecked")
+  JoinTableStatements(EntityManager entityManager,
+                      Class<?> entityType,
+                      String relation,
+                      String tenantIdFieldName) {
+    this.sessionFactory = entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class);
+    MappingMetamodel metamodel = sessionFactory.getRuntimeMetamodels().getMappingMetamodel();
+
+    var persister = (AbstractEntityPersister) metamodel.getEntityDescriptor(entityType);
+    this.role = persister.getEntityName() + "." + relation;
+    var collection = (QueryableCollection) metamodel.getCollectionDescriptor(role);
+    Assert.state(collection.isManyToMany(), () -> role + " isn't a many to many relation");
+    var relatedPersister = (AbstractEntityPersister) collection.getElementPersister();
+    this.indexed = collection.hasIndex();
+
+    this.tableName = collection.getTableName();
+    metamodel.forEachCollectionDescriptor(other -> {
+      if (!other.getRole().equals(role) && other instanceof QueryableCollection queryable
+          && queryable.getTableName().equals(tableName)) {
+        inverseRoles.add(other.getRole());
+      }
+    });
+    this.idType = (BasicDomainType<UUID>) persister.getIdentifierType();
+    this.relatedIdType = (BasicDomainType<UUID>) relatedPersister.getIdentifierType();
+    this.tenantIdType = (BasicDomainType<UUID>) persister.getPropertyType(tenantIdFieldName);
+
+    var keyColumn = getColumn(collection.getKeyColumnNames());
+    var elementColumn = getColumn(collection.getElementColumnNames());
+    var parentTable = persister.getTableName();
+    var parentId = getColumn(persister.getIdentifierColumnNames());
+    var parentTenantId = getColumn(persister.getPropertyColumnNames(tenantIdFieldName));
+    var relatedTable = relatedPersister.getTableName();
+    var relatedId = getColumn(relatedPersister.getIdentifierColumnNames());
+    var relatedTenantId = getColumn(relatedPersister.getPropertyColumnNames(
+        tenantIdFieldName));
+
+    this.findRelatedIdsQuery = String.format(
+        "select j.%s as %s from %s j where j.%s = :%s and j.%s in (:%s)",
+        elementColumn, RELATED_ID_ALIAS, tableName, keyColumn, ID_PARAMETER,
+        elementColumn, IDS_PARAMETER);
+    // Selecting the parent and related rows checks they belong to the tenant
+    // in the same statement as the insert
+    this.insertQuery = String.format(
+        "insert into %1$s (%2$s, %3$s) select p.%4$s, r.%5$s from %6$s p, %7$s r "
+            + "where p.%4$s = :%8$s and p.%9$s = :%10$s "
+            + "and r.%5$s in (:%11$s) and r.%12$s = :%10$s "
+            + "and not exists (select 1 from %1$s j where j.%2$s = p.%4$s and j.%3$s = r.%5$s)",
+        tableName, keyColumn, elementColumn, parentId, relatedId, parentTable, relatedTable,
+        ID_PARAMETER, parentTenantId, TENANT_ID_PARAMETER, IDS_PARAMETER, relatedTenantId);
+    this.deleteQuery = String.format("delete from %s where %s = :%s and %s in (:%s)",
+        tableName, keyColumn, ID_PARAMETER, elementColumn, IDS_PARAMETER);
+  }
+
+  /**
+   * Whether the relation is stored with an index, which insert and delete don't write.
+   */
+  boolean isIndexed() {
+    return indexed;
+  }
+
+  @SuppressWarnings("unchecked")
+  List<UUID> findRelatedIds(EntityManager entityManager, UUID id, Collection<UUID> relatedIds) {
+    return ((NativeQuery<UUID>) entityManager.createNativeQuery(findRelatedIdsQuery)
+        .unwrap(NativeQuery.class))
+        .addScalar(RELATED_ID_ALIAS, relatedIdType)
+        .setParameter(ID_PARAMETER, id, idType)
+        .setParameterList(IDS_PARAMETER, relatedIds, relatedIdType)
+        .getResultList();
+  }
+
+  int insert(EntityManager entityManager, UUID tenantId, UUID id, Collection<UUID> relatedIds) {
+    var inserted = createMutation(entityManager, insertQuery, id, relatedIds)
+        .setParameter(TENANT_ID_PARAMETER, tenantId, tenantIdType)
+        .executeUpdate();
+    evictCollections(id);
+    return inserted;
+  }
+
+  int delete(EntityManager entityManager, UUID id, Collection<UUID> relatedIds) {
+    var deleted = createMutation(entityManager, deleteQuery, id, relatedIds).executeUpdate();
+    evictCollections(id);
+    return deleted;
+  }
+
+  private NativeQuery<?> createMutation(EntityManager entityManager,
+                                        String query,
+                                        UUID id,
+                                        Collection<UUID> relatedIds) {
+    return entityManager.createNativeQuery(query)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedQuerySpace(tableName)
+        .setParameter(ID_PARAMETER, id, idType)
+        .setParameterList(IDS_PARAMETER, relatedIds, relatedIdType);
+  }
+
+  private void evictCollections(UUID id) {
+    var cache = sessionFactory.getCache();
+    cache.evictCollectionData(role, id);
+    // The other side of the relation could have any of the related resources cached
+    inverseRoles.forEach(cache::evictCollectionData);
+  }
+
+  private static String getColumn(String[] columns) {
+    Assert.state(columns.length == 1,
+        () -> BaseEntity.class.getSimpleName() + " ids must be mapped to a single column");
+    return columns[0];
+  }
+
+}
@@ -0,0 +1,258 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import lombok.Getter;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
+
+/**
+ * An opaque continuation token used for keyset (seek) pagination.
+ *
+ * <p>The cursor records the sort order of the page it was created from and the
+ * values of the sort properties of the last item on that page. The id is always
+ * used as the final sort property so that every item has a unique position.
+ * Instead of skipping rows with an offset the next page is selected with a
+ * predicate equivalent to {@code (sortKey, id) > (?, ?)}.
+ *
+ * <p>Null values are ordered first for ascending sorts and last for descending
+ * sorts unless the {@link Sort.Order} specifies its own null handling.
+ *
+ * <p>The encoded cursor is the base64url JSON of the sort and the values followed
+ * by a signature of it from a {@link KeysetCursorSigner}, so a cursor that has been
+ * changed by a client is rejected before its values reach a query. It is not encrypted:
+ * anyone holding it can read the sort values, so it must not be treated as a secure token.
+ */
+public class KeysetCursor {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .registerModule(new JavaTimeModule());
+  private static final String ORDERS_FIELD = "o";
+  private static final String VALUES_FIELD = "v";
+  private static final String INVALID_CURSOR = "The supplied cursor is not valid";
+  private static final String SORT_MISMATCH =
+      "The supplied cursor was not created with the requested sort order";
+  private static final char SIGNATURE_SEPARATOR = '.';
+
+  @Getter
+  private final List<String> orders;
+  private final List<JsonNode> values;
+
+  private KeysetCursor(List<String> orders, List<JsonNode> values) {
+    this.orders = orders;
+    this.values = values;
+  }
+
+  /**
+   * Returns the sort with the id appended as the final sort property
+   * if it is not already sorted by id.
+   */
+  public static Sort withTieBreaker(Sort sort) {
+    if (sort.getOrderFor(EntityUtils.ID_FIELD_NAME) != null) {
+      return sort;
+    }
+    return sort.and(Sort.by(EntityUtils.ID_FIELD_NAME));
+  }
+
+  /**
+   * Creates a cursor positioned after the given item.
+   *
+   * @param item The last item of a page, either a resource or a map of its
+   *             property names to values
+   * @param sort The sort of the page
+   * @return the cursor for the next page
+   */
+  public static KeysetCursor after(Object item, Sort sort) {
+    Function<String, Object> accessor = item instanceof Map<?, ?> map
+        ? map::get
+        : PropertyAccessorFactory.forBeanPropertyAccess(item)::getPropertyValue;
+    var orders = new ArrayList<String>();
+    var values = new ArrayList<JsonNode>();
+    for (Sort.Order order : withTieBreaker(sort)) {
+      orders.add(toString(order));
+      values.add(MAPPER.valueToTree(accessor.apply(order.getProperty())));
+    }
+    return new KeysetCursor(orders, values);
+  }
+
+  /**
+   * Creates the cursor for the page following the given page.
+   *
+   * @param page   The current page
+   * @param signer The signer of the cursor
+   * @return the encoded cursor or null if there is no next page
+   */
+  public static String next(Slice<?> page, KeysetCursorSigner signer) {
+    if (!page.hasNext() || !page.hasContent()) {
+      return null;
+    }
+    var items = page.getContent();
+    return after(items.get(items.size() - 1), page.getPageable().getSort()).encode(signer);
+  }
+
+  /**
+   * Decodes a cursor previously created by {@link #encode(KeysetCursorSigner)}.
+   *
+   * @param token  The encoded cursor
+   * @param signer The signer the cursor was signed with
+   * @return the cursor, or null if no token was supplied
+   * @throws IllegalArgumentException if the token is not a valid cursor or its
+   *     signature doesn't match
+   */
+  public static KeysetCursor decode(String token, KeysetCursorSigner signer) {
+    if (!StringUtils.hasText(token)) {
+      return null;
+    }
+    var separator = token.lastIndexOf(SIGNATURE_SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException(INVALID_CURSOR);
+    }
+    var payload = token.substring(0, separator);
+    byte[] signature;
+    try {
+      signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException(INVALID_CURSOR, ex);
+    }
+    if (!MessageDigest.isEqual(signature, signer.sign(payload))) {
+      throw new IllegalArgumentException(INVALID_CURSOR);
+    }
+
+    JsonNode json;
+    try {
+      json = MAPPER.readTree(Base64.getUrlDecoder().decode(payload));
+    } catch (IllegalArgumentException | IOException ex) {
+      throw new IllegalArgumentException(INVALID_CURSOR, ex);
+    }
+
+    var ordersNode = json.get(ORDERS_FIELD);
+    var valuesNode = json.get(VALUES_FIELD);
+    if (ordersNode == null || valuesNode == null || !ordersNode.isArray()
+        || !valuesNode.isArray() || ordersNode.isEmpty() || ordersNode.size() != valuesNode.size()) {
+      throw new IllegalArgumentException(INVALID_CURSOR);
+    }
+
+    var orders = new ArrayList<String>();
+    ordersNode.forEach(order -> orders.add(order.asText()));
+    var values = new ArrayList<JsonNode>();
+    valuesNode.forEach(values::add);
+    return new KeysetCursor(orders, values);
+  }
+
+  /**
+   * Encodes the cursor and signs it with the given signer.
+   */
+  public String encode(KeysetCursorSigner signer) {
+    var json = MAPPER.createObjectNode();
+    orders.forEach(json.putArray(ORDERS_FIELD)::add);
+    values.forEach(json.putArray(VALUES_FIELD)::add);
+    String payload;
+    try {
+      payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+          MAPPER.writeValueAsString(json).getBytes(StandardCharsets.UTF_8));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(INVALID_CURSOR, ex);
+    }
+    return payload + SIGNATURE_SEPARATOR
+        + Base64.getUrlEncoder().withoutPadding().encodeToString(signer.sign(payload));
+  }
+
+  /**
+   * Creates a predicate selecting the items that come after this cursor.
+   *
+   * @param builder The CriteriaBuilder of the query
+   * @param path    The root or join being paged
+   * @param sort    The sort of the query, including the tie breaker
+   * @return the predicate selecting the next page
+   * @throws IllegalArgumentException if the sort doesn't match the cursor
+   */
+  public Predicate toPredicate(CriteriaBuilder builder, Path<?> path, Sort sort) {
+    var sortOrders = sort.toList();
+    if (sortOrders.size() != orders.size()) {
+      throw new IllegalArgumentException(SORT_MISMATCH);
+    }
+
+    var disjunction = new ArrayList<Predicate>();
+    var equalities = new ArrayList<Predicate>();
+    for (int i = 0; i < sortOrders.size(); i++) {
+      Sort.Order order = sortOrders.get(i);
+      if (!Objects.equals(orders.get(i), toString(order))) {
+        throw new IllegalArgumentException(SORT_MISMATCH);
+      }
+      Path<Comparable<Object>> key = path.get(order.getProperty());
+      Comparable<Object> value = getValue(i, key.getJavaType());
+
+      var after = getAfterPredicate(builder, key, value, order);
+      if (after != null) {
+        var terms = new ArrayList<>(equalities);
+        terms.add(after);
+        disjunction.add(builder.and(terms.toArray(Predicate[]::new)));
+      }
+      equalities.add(value == null ? builder.isNull(key) : builder.equal(key, value));
+    }
+    return disjunction.isEmpty()
+        ? builder.disjunction()
+        : builder.or(disjunction.toArray(Predicate[]::new));
+  }
+
+  /**
+   * Returns true if null values are ordered before non null values.
+   */
+  public static boolean isNullsFirst(Sort.Order order) {
+    return switch (order.getNullHandling()) {
+      case NULLS_FIRST -> true;
+      case NULLS_LAST -> false;
+      default -> order.isAscending();
+    };
+  }
+
+  private static Predicate getAfterPredicate(CriteriaBuilder builder,
+                                             Expression<Comparable<Object>> key,
+                                             Comparable<Object> value,
+                                             Sort.Order order) {
+    boolean nullsFirst = isNullsFirst(order);
+    if (value == null) {
+      return nullsFirst ? builder.isNotNull(key) : null;
+    }
+    Predicate after = order.isAscending()
+        ? builder.greaterThan(key, value)
+        : builder.lessThan(key, value);
+    return nullsFirst ? after : builder.or(after, builder.isNull(key));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Comparable<Object> getValue(int index, Class<?> javaType) {
+    var node = values.get(index);
+    if (node == null || node.isNull()) {
+      return null;
+    }
+    try {
+      return (Comparable<Object>) MAPPER.treeToValue(node, javaType);
+    } catch (JsonProcessingException | IllegalArgumentException ex) {
+      throw new IllegalArgumentException(INVALID_CURSOR, ex);
+    }
+  }
+
+  private static String toString(Sort.Order order) {
+    return order.getProperty() + ":" + order.getDirection() + ":" + order.getNullHandling();
+  }
+
+}
@@ -0,0 +1,48 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.util.StringUtils;
+
+/**
+ * Signs and verifies {@link KeysetCursor} tokens with an HMAC-SHA256 of the
+ * encoded cursor. Every instance of an application must be given the same
+ * secret for a cursor created by one instance to be accepted by another.
+ */
+public class KeysetCursorSigner {
+
+  private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+  private final SecretKeySpec signingKey;
+
+  /**
+   * Creates a signer that signs with the given secret.
+   *
+   * @param secret The secret, which should be at least 32 characters long
+   * @throws IllegalArgumentException if the secret is empty
+   */
+  public KeysetCursorSigner(String secret) {
+    if (!StringUtils.hasText(secret)) {
+      throw new IllegalArgumentException("The cursor secret must not be empty");
+    }
+    this.signingKey = new SecretKeySpec(
+        secret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM);
+  }
+
+  /**
+   * Returns the signature of the encoded cursor.
+   */
+  public byte[] sign(String payload) {
+    try {
+      // Mac instances aren't thread safe so one is created for each cursor
+      var mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+      mac.init(signingKey);
+      return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Unable to sign the cursor", ex);
+    }
+  }
+
+}
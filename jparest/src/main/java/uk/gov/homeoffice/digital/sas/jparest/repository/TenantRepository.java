@@ -2,38 +2,257 @@ package uk.gov.homeoffice.digital.sas.jparest.repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.expression.spel.standard.SpelExpression;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.UnknownResourcePropertyException;
 
 @NoRepositoryBean
 public interface TenantRepository<T> extends JpaRepository<T, UUID> {
 
 
-  List<T> findAllByTenantId(UUID tenantId, SpelExpression filter, Pageable pageable);
+  Slice<T> findAllByTenantId(UUID tenantId,
+                             SpelExpression filter,
+                             Pageable pageable,
+                             KeysetCursor cursor);
+
+  /**
+   * Counts the resources of the tenant that match the filter.
+   *
+   * @param limit The number of resources to stop counting at, or null to count them all
+   */
+  Long countAllByTenantId(UUID tenantId, SpelExpression filter, Long limit);
+
+  /**
+   * Reads the resources of the tenant that match the filter one at a time
+   * and passes them to the action. Resources are detached after the action
+   * has been applied so the persistence context doesn't grow with the results.
+   * Must be called within a transaction.
+   */
+  void streamAllByTenantId(UUID tenantId,
+                           SpelExpression filter,
+                           Sort sort,
+                           Consumer<? super T> action);
+
+  /**
+   * Reads only the given properties of the resources of the tenant that match the
+   * filter. Each resource is returned as a map of property names to values, which
+   * also has the id and the sort properties so the keyset cursor can be created.
+   *
+   * @param fields The names of the basic properties to read
+   * @throws UnknownResourcePropertyException if a property doesn't exist
+   * @throws IllegalArgumentException if a property isn't a basic property
+   */
+  Slice<Map<String, Object>> findAllFieldsByTenantId(UUID tenantId,
+                                                     SpelExpression filter,
+                                                     Pageable pageable,
+                                                     KeysetCursor cursor,
+                                                     Collection<String> fields);
+
+  /**
+   * Aggregates the resources of the tenant that match the filter in one query,
+   * grouping them by the given properties. Each group is returned as a map of the
+   * group by property names and the aggregate names to their values. Groups can be
+   * sorted by the group by properties and the aggregates, and are sorted by the
+   * group by properties if the page isn't sorted.
+   *
+   * @param groupBy    The names of the basic properties to group by, which may be empty
+   * @param aggregates The aggregates to calculate for each group
+   * @throws UnknownResourcePropertyException if a property doesn't exist
+   * @throws IllegalArgumentException if a property can't be grouped or aggregated
+   */
+  Slice<Map<String, Object>> aggregateByTenantId(UUID tenantId,
+                                                 SpelExpression filter,
+                                                 List<String> groupBy,
+                                                 List<Aggregate> aggregates,
+                                                 Pageable pageable);
+
+  /**
+   * Reads only the given properties, and the id, of the resource of the tenant with
+   * the given id.
+   *
+   * @see #findAllFieldsByTenantId(UUID, SpelExpression, Pageable, KeysetCursor, Collection)
+   */
+  Optional<Map<String, Object>> findFieldsByTenantIdAndId(UUID tenantId,
+                                                          UUID id,
+                                                          Collection<String> fields);
+
+  /**
+   * Reads only the given properties, and the id, of the resources of the tenant with
+   * the given ids, in the order of the ids. Ids that don't match a resource of the
+   * tenant are ignored, as are repeated ids.
+   *
+   * @see #findByTenantIdAndIds(UUID, Collection)
+   */
+  List<Map<String, Object>> findFieldsByTenantIdAndIds(UUID tenantId,
+                                                       Collection<UUID> ids,
+                                                       Collection<String> fields);
 
   Optional<T> findByTenantIdAndId(UUID tenantId, UUID id);
 
   Optional<T> findByTenantIdAndId(UUID tenantId, UUID id, String relatedResourceType);
 
+  /**
+   * Reads the resources of the tenant with the given ids, in the order of the ids.
+   * Only resources of the tenant are read, in batches that keep within the bind parameter
+   * limits of the database. Ids that don't match a resource of the tenant are ignored, as are
+   * repeated ids. Must be called within a transaction. Within a read only transaction,
+   * resources marked as cacheable are loaded by id once a query has found which of the ids
+   * belong to the tenant, so those in the persistence context or the second level cache
+   * aren't read again.
+   */
   List<T> findByTenantIdAndIds(UUID tenantId, Collection<UUID> ids);
 
   @SuppressWarnings("squid:S1452") // Generic wildcard types should not be used in return parameters
-  List<?> findAllByTenantIdAndIdAndRelation(UUID tenantId,
-                                            UUID id,
-                                            String relatedResourceType,
-                                            Class<?> relatedEntityClass,
-                                            SpelExpression filter,
-                                            Pageable pageable);
+  Slice<?> findAllByTenantIdAndIdAndRelation(UUID tenantId,
+                                             UUID id,
+                                             String relatedResourceType,
+                                             Class<?> relatedEntityClass,
+                                             SpelExpression filter,
+                                             Pageable pageable,
+                                             KeysetCursor cursor);
+
+  /**
+   * Reads a page of the ids of the related resources of the tenant that match the
+   * filter, without loading the related resources. Each item has the id and the
+   * properties the page is sorted by, which are needed to create the cursor for the
+   * next page.
+   */
+  Slice<Map<String, Object>> findAllRelatedIdsByTenantIdAndId(UUID tenantId,
+                                                              UUID id,
+                                                              String relatedResourceType,
+                                                              SpelExpression filter,
+                                                              Pageable pageable,
+                                                              KeysetCursor cursor);
+
+  /**
+   * Reads the related resources of the tenant of each of the resources with the given
+   * ids in one query, rather than a query for each resource. Large sets of ids are read
+   * in chunks to keep within the bind parameter limits of the database.
+   *
+   * @return the related resources, sorted by id, keyed by the given ids in the order
+   *         they were given, with an empty list for a resource without any
+   */
+  Map<UUID, List<Object>> findAllRelatedByTenantIdAndIds(UUID tenantId,
+                                                         Collection<UUID> ids,
+                                                         String relatedResourceType);
+
+  /**
+   * Counts the related resources of the tenant that match the filter.
+   *
+   * @param limit The number of resources to stop counting at, or null to count them all
+   */
+  Long countAllByTenantIdAndIdAndRelation(UUID tenantId,
+                                          UUID id,
+                                          String relatedResourceType,
+                                          SpelExpression filter,
+                                          Long limit);
 
   Long countAllByTenantIdAndRelation(UUID tenantId,
                                      Class<?> relatedEntityClass,
                                      Collection<UUID> relatedIds);
 
+  /**
+   * Checks the tenant has a resource with the given id without loading it.
+   */
+  boolean existsByTenantIdAndId(UUID tenantId, UUID id);
+
+  /**
+   * Returns which of the related ids the resource is linked to through the relation,
+   * reading only the rows of the join table for those ids.
+   */
+  Set<UUID> findRelatedIdsByIdAndRelation(UUID id,
+                                          String relatedResourceType,
+                                          Collection<UUID> relatedIds);
+
+  /**
+   * Links the resource of the tenant to the related resources of the tenant with the
+   * given ids by inserting the missing rows of the join table of the relation, without
+   * loading the relation. Ids the resource is already linked to are ignored. Cached
+   * collections of the relation are evicted, but collections already loaded in the
+   * persistence context are not updated. Relations stored with an index, such as lists
+   * with an OrderColumn, are loaded and changed instead so the index is written. Must be
+   * called within a transaction.
+   *
+   * @return the number of links added
+   */
+  int addRelatedByTenantIdAndId(UUID tenantId,
+                                UUID id,
+                                String relatedResourceType,
+                                Collection<UUID> relatedIds);
+
+  /**
+   * Removes the links of the resource to the related resources with the given ids by
+   * deleting the rows of the join table of the relation, without loading the relation.
+   * Cached collections of the relation are evicted, but collections already loaded in
+   * the persistence context are not updated. Relations stored with an index are loaded
+   * and changed instead so the remaining elements are re-indexed. Must be called within
+   * a transaction.
+   *
+   * @return the number of links removed
+   */
+  int deleteRelatedByIdAndRelation(UUID id,
+                                   String relatedResourceType,
+                                   Collection<UUID> relatedIds);
+
   void deleteByTenantIdAndId(UUID tenantId, UUID id);
 
+  /**
+   * Deletes the resources of the tenant with the given ids using bulk delete
+   * statements rather than loading each resource. The ids are deleted in batches that
+   * keep within the bind parameter limits of the database. Must be called within a
+   * transaction.
+   *
+   * <p>As the resources aren't loaded, their lifecycle callbacks such as
+   * {@code @PreRemove} aren't called and removals aren't cascaded to their associations.
+   * Resources that are loaded in the persistence context are not updated. The second
+   * level cache region of the resource is evicted after anything has been deleted.
+   *
+   * @return the number of resources deleted
+   */
+  int deleteAllByTenantIdAndIds(UUID tenantId, Collection<UUID> ids);
+
+  /**
+   * Persists the new entities, sending the inserts to the database in JDBC
+   * batches of the given size. The persistence context is flushed and cleared
+   * after each batch so the returned entities are detached.
+   * Must be called within a transaction.
+   */
+  List<T> persistAllInBatches(List<T> entities, int batchSize);
+
+  /**
+   * Flushes the persistence context, sending the statements to the database in
+   * JDBC batches of the given size, and then detaches every entity.
+   * Must be called within a transaction.
+   */
+  void flushAndClear(int batchSize);
+
   UUID findId(T entity);
+
+  /**
+   * Whether the entity has a {@link jakarta.persistence.Version} attribute.
+   */
+  boolean isVersioned();
+
+  /**
+   * Returns the value of the entity's version attribute, or null if it doesn't have one.
+   */
+  Object getVersion(T entity);
+
+  /**
+   * Reads only the version of the resource of the tenant with the given id,
+   * without loading the resource.
+   *
+   * @return the version, or empty if the resource doesn't exist
+   * @throws IllegalStateException if the entity doesn't have a version attribute
+   */
+  Optional<Object> findVersionByTenantIdAndId(UUID tenantId, UUID id);
 }
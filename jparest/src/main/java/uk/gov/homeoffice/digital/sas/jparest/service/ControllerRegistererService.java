@@ -1,5 +1,7 @@
 package uk.gov.homeoffice.digital.sas.jparest.service;
 
+import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_AGGREGATE_PATH;
+import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_BATCH_PATH;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_ID_PATH_PARAM;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_RELATED_ID_PATH_PARAM;
 
@@ -7,6 +9,7 @@ import java.lang.reflect.Method;
 import java.util.Comparator;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -44,21 +47,68 @@ public class ControllerRegistererService {
 
     register(controller, "list",
         getControllerMethodArgs(RequestParameter.TENANT_ID,
-            RequestParameter.PAGEABLE, RequestParameter.FILTER),
+            RequestParameter.PAGEABLE, RequestParameter.CURSOR, RequestParameter.COUNT,
+            RequestParameter.FILTER, RequestParameter.INCLUDE, RequestParameter.IF_NONE_MATCH),
         path, RequestMethod.GET);
+    register(controller, "stream",
+        getControllerMethodArgs(RequestParameter.TENANT_ID,
+            RequestParameter.SORT, RequestParameter.FILTER),
+        path, RequestMethod.GET, builder -> builder
+            .produces(MediaType.APPLICATION_NDJSON_VALUE)
+            .params(RequestParameter.STREAM.getParamName() + "=true"));
+    register(controller, "getByIds",
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.IDS),
+        path, RequestMethod.GET, builder -> builder
+            .produces(MediaType.APPLICATION_JSON_VALUE)
+            .params(RequestParameter.IDS.getParamName(),
+                "!" + RequestParameter.FIELDS.getParamName()));
+    register(controller, "getFieldsByIds",
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.IDS,
+            RequestParameter.FIELDS),
+        path, RequestMethod.GET, builder -> builder
+            .produces(MediaType.APPLICATION_JSON_VALUE)
+            .params(RequestParameter.IDS.getParamName(), RequestParameter.FIELDS.getParamName()));
+    register(controller, "listFields",
+        getControllerMethodArgs(RequestParameter.TENANT_ID,
+            RequestParameter.PAGEABLE, RequestParameter.CURSOR, RequestParameter.COUNT,
+            RequestParameter.FIELDS, RequestParameter.FILTER),
+        path, RequestMethod.GET, builder -> builder
+            .produces(MediaType.APPLICATION_JSON_VALUE)
+            .params(RequestParameter.FIELDS.getParamName(),
+                "!" + RequestParameter.IDS.getParamName()));
+    register(controller, "aggregate",
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.PAGEABLE,
+            RequestParameter.FILTER, RequestParameter.AGGREGATE, RequestParameter.GROUP_BY),
+        path + URL_AGGREGATE_PATH, RequestMethod.GET);
     register(controller, "get",
-        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.ID),
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.ID,
+            RequestParameter.INCLUDE, RequestParameter.IF_NONE_MATCH),
         path + URL_ID_PATH_PARAM, RequestMethod.GET);
+    register(controller, "getFields",
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.ID,
+            RequestParameter.FIELDS),
+        path + URL_ID_PATH_PARAM, RequestMethod.GET, builder -> builder
+            .produces(MediaType.APPLICATION_JSON_VALUE)
+            .params(RequestParameter.FIELDS.getParamName()));
     register(controller, "create",
         getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.BODY),
         path, RequestMethod.POST);
+    register(controller, "createBatch",
+        getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.LIST_BODY),
+        path + URL_BATCH_PATH, RequestMethod.POST);
     register(controller, "delete",
         getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.ID),
         path + URL_ID_PATH_PARAM, RequestMethod.DELETE);
     register(controller, "update",
         getControllerMethodArgs(RequestParameter.TENANT_ID,
-            RequestParameter.ID, RequestParameter.BODY),
+            RequestParameter.ID, RequestParameter.BODY, RequestParameter.IF_MATCH),
         path + URL_ID_PATH_PARAM, RequestMethod.PUT);
+    register(controller, "mergePatch",
+        getControllerMethodArgs(RequestParameter.TENANT_ID,
+            RequestParameter.ID, RequestParameter.BODY, RequestParameter.IF_MATCH),
+        path + URL_ID_PATH_PARAM, RequestMethod.PATCH, builder -> builder
+            .consumes(ResourceApiController.MERGE_PATCH_MEDIA_TYPE)
+            .produces(MediaType.APPLICATION_JSON_VALUE));
     register(controller, "patch",
         getControllerMethodArgs(RequestParameter.TENANT_ID, RequestParameter.LIST_BODY),
         path, RequestMethod.PATCH);
@@ -88,9 +138,24 @@ public class ControllerRegistererService {
               RequestParameter.ID,
               RequestParameter.RELATION,
               RequestParameter.FILTER,
-              RequestParameter.PAGEABLE),
+              RequestParameter.PAGEABLE,
+              RequestParameter.CURSOR,
+              RequestParameter.COUNT),
           rootPath + createIdAndRelationParams(relation), RequestMethod.GET);
 
+      register(controller, "getRelatedIds",
+          getControllerMethodArgs(
+              RequestParameter.TENANT_ID,
+              RequestParameter.ID,
+              RequestParameter.RELATION,
+              RequestParameter.FILTER,
+              RequestParameter.PAGEABLE,
+              RequestParameter.CURSOR,
+              RequestParameter.COUNT),
+          rootPath + createIdAndRelationParams(relation), RequestMethod.GET, builder -> builder
+              .produces(MediaType.APPLICATION_JSON_VALUE)
+              .params(RequestParameter.IDS_ONLY.getParamName() + "=true"));
+
       register(controller, "deleteRelated", getControllerMethodArgs(
               RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.RELATION,
               RequestParameter.RELATED_IDS),
@@ -134,16 +199,40 @@ public class ControllerRegistererService {
                         Class<?>[] methodArgs,
                         String path,
                         RequestMethod requestMethod) throws NoSuchMethodException {
+    register(controller, methodName, methodArgs, path, requestMethod,
+        builder -> builder.produces(MediaType.APPLICATION_JSON_VALUE));
+  }
+
+  /**
+   * Private help method that finds the specified method on the controller class
+   * and maps it to the given path for the given request method, with the
+   * conditions added by the customizer, such as the media types produced and
+   * consumed or the parameters the request must have.
+   *
+   * @param controller    The controller to register the mapping to
+   * @param methodName    The method name to map to on the controller
+   * @param methodArgs    The argument types expected by the specified method
+   * @param path          The path to map
+   * @param requestMethod The request method to map
+   * @param customizer    Adds the other conditions of the mapping to the builder
+   * @throws NoSuchMethodException when declared method cannot be found
+   */
+  private void register(Object controller,
+                        String methodName,
+                        Class<?>[] methodArgs,
+                        String path,
+                        RequestMethod requestMethod,
+                        UnaryOperator<RequestMappingInfo.Builder> customizer)
+      throws NoSuchMethodException {
 
     Method method = ResourceApiController.class.getDeclaredMethod(methodName, methodArgs);
 
     LOGGER.finest("Building RequestMappingInfo");
     RequestMappingInfo.Builder builder = RequestMappingInfo.paths(path)
         .options(createBuilderOptions())
-        .methods(requestMethod)
-        .produces(MediaType.APPLICATION_JSON_VALUE);
+        .methods(requestMethod);
 
-    RequestMappingInfo requestMappingInfo = builder.build();
+    RequestMappingInfo requestMappingInfo = customizer.apply(builder).build();
 
     LOGGER.finest("Registering mapping");
     requestMappingHandlerMapping.registerMapping(requestMappingInfo, controller, method);
@@ -3,48 +3,237 @@ package uk.gov.homeoffice.digital.sas.jparest.service;
 import static uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundExceptionMessageUtil.deletableRelatedResourcesMessage;
 import static uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundExceptionMessageUtil.relatedResourcesMessage;
 
-import jakarta.persistence.EntityNotFoundException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import lombok.AllArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
 import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
+import uk.gov.homeoffice.digital.sas.jparest.controller.enums.CountMode;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceModifiedException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundException;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+import uk.gov.homeoffice.digital.sas.jparest.repository.Aggregate;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursor;
 import uk.gov.homeoffice.digital.sas.jparest.repository.TenantRepository;
+import uk.gov.homeoffice.digital.sas.jparest.utils.PropertyCopier;
 import uk.gov.homeoffice.digital.sas.jparest.validation.EntityValidator;
 
 
 @Service
-@AllArgsConstructor
 public class ResourceApiService<T extends BaseEntity> {
 
   private final EntityUtils<T, ?> entityUtils;
   private final TenantRepository<T> repository;
   private final EntityValidator entityValidator;
   private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final int batchSize;
+  private final long countLimit;
+
+  /**
+   * The number of resources a capped count stops counting at by default.
+   */
+  public static final long DEFAULT_COUNT_LIMIT = 1000;
+
+  /**
+   * The number of resources written in each JDBC batch when creating or updating
+   * resources in bulk.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 50;
+
+  public ResourceApiService(EntityUtils<T, ?> entityUtils,
+                            TenantRepository<T> repository,
+                            EntityValidator entityValidator,
+                            TransactionTemplate transactionTemplate) {
+    this(entityUtils, repository, entityValidator, transactionTemplate, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates the service.
+   *
+   * @param batchSize The number of resources written in each JDBC batch and
+   *                  updated in each chunk of a bulk update
+   */
+  public ResourceApiService(EntityUtils<T, ?> entityUtils,
+                            TenantRepository<T> repository,
+                            EntityValidator entityValidator,
+                            TransactionTemplate transactionTemplate,
+                            int batchSize) {
+    this(entityUtils, repository, entityValidator, transactionTemplate, batchSize,
+        DEFAULT_COUNT_LIMIT);
+  }
+
+  /**
+   * Creates the service.
+   *
+   * @param batchSize  The number of resources written in each JDBC batch and
+   *                   updated in each chunk of a bulk update
+   * @param countLimit The number of resources a capped count stops counting at
+   */
+  public ResourceApiService(EntityUtils<T, ?> entityUtils,
+                            TenantRepository<T> repository,
+                            EntityValidator entityValidator,
+                            TransactionTemplate transactionTemplate,
+                            int batchSize,
+                            long countLimit) {
+    Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+    Assert.isTrue(countLimit > 0, "countLimit must be greater than 0");
+    this.entityUtils = entityUtils;
+    this.repository = repository;
+    this.entityValidator = entityValidator;
+    this.transactionTemplate = transactionTemplate;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(
+        transactionTemplate.getTransactionManager(), transactionTemplate);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.batchSize = batchSize;
+    this.countLimit = countLimit;
+  }
+
+
+  /**
+   * Reads a page of the tenant's resources. Like every read of the service this runs
+   * within a read only transaction, so the session isn't flushed, loaded resources
+   * aren't dirty checked and a {@link
+   * uk.gov.homeoffice.digital.sas.jparest.config.ReadOnlyRoutingDataSource} can send
+   * the queries to a replica.
+   */
+  public Slice<T> getAllResources(UUID tenantId,
+                                  Pageable pageable,
+                                  SpelExpression filter,
+                                  KeysetCursor cursor) {
+    return readOnly(() -> repository.findAllByTenantId(tenantId, filter, pageable, cursor));
+  }
+
+  /**
+   * Reads only the given properties of a page of the tenant's resources.
+   *
+   * @see TenantRepository#findAllFieldsByTenantId
+   */
+  public Slice<Map<String, Object>> getAllResourceFields(UUID tenantId,
+                                                        Pageable pageable,
+                                                        SpelExpression filter,
+                                                        KeysetCursor cursor,
+                                                        Collection<String> fields) {
+    return readOnly(() -> repository.findAllFieldsByTenantId(
+        tenantId, filter, pageable, cursor, fields));
+  }
+
+  /**
+   * Aggregates the resources of the tenant that match the filter, grouped by the
+   * given properties. The cache isn't used.
+   */
+  public Slice<Map<String, Object>> getAggregates(UUID tenantId,
+                                                  Pageable pageable,
+                                                  SpelExpression filter,
+                                                  List<String> groupBy,
+                                                  List<Aggregate> aggregates) {
+    return readOnly(() -> repository.aggregateByTenantId(
+        tenantId, filter, groupBy, aggregates, pageable));
+  }
+
+  /**
+   * Reads only the given properties of a resource. The cache isn't used.
+   */
+  public Map<String, Object> getResourceFields(UUID tenantId,
+                                               UUID id,
+                                               Collection<String> fields) {
+    return readOnly(() -> repository.findFieldsByTenantIdAndId(tenantId, id, fields))
+        .orElseThrow(() -> new ResourceNotFoundException(id));
+  }
 
+  /**
+   * Reads only the given properties of the resources with the given ids in the order
+   * of the ids, ignoring ids that don't match a resource of the tenant and repeated ids.
+   */
+  public List<Map<String, Object>> getResourcesFields(UUID tenantId,
+                                                      Collection<UUID> ids,
+                                                      Collection<String> fields) {
+    return readOnly(() -> repository.findFieldsByTenantIdAndIds(tenantId, ids, fields));
+  }
 
-  public List<T> getAllResources(UUID tenantId, Pageable pageable, SpelExpression filter) {
-    return repository.findAllByTenantId(tenantId, filter, pageable);
+  /**
+   * Reads every resource of the tenant that matches the filter within a read only
+   * transaction and passes them to the action one at a time.
+   */
+  public void streamAllResources(UUID tenantId,
+                                 Sort sort,
+                                 SpelExpression filter,
+                                 Consumer<? super T> action) {
+    readOnlyTransactionTemplate.executeWithoutResult(
+        status -> repository.streamAllByTenantId(tenantId, filter, sort, action));
   }
 
+  /**
+   * Returns the number of resources a capped count stops counting at.
+   */
+  public long getCountLimit() {
+    return countLimit;
+  }
+
+  public Long countAllResources(UUID tenantId, SpelExpression filter, CountMode count) {
+    return switch (count) {
+      case EXACT -> readOnly(() -> repository.countAllByTenantId(tenantId, filter, null));
+      case CAPPED -> readOnly(
+          () -> repository.countAllByTenantId(tenantId, filter, countLimit));
+      case NONE -> null;
+    };
+  }
+
+  /**
+   * Reads a resource. Resources marked as cacheable are looked up through Hibernate's
+   * query and second level caches.
+   */
   public T getResource(UUID tenantId, UUID id) {
-    return repository.findByTenantIdAndId(tenantId, id)
+    return readOnly(() -> repository.findByTenantIdAndId(tenantId, id))
         .orElseThrow(() -> new ResourceNotFoundException(id));
   }
 
+  /**
+   * Reads the resources with the given ids in the order of the ids, ignoring ids that
+   * don't match a resource of the tenant and repeated ids.
+   */
+  public List<T> getResources(UUID tenantId, Collection<UUID> ids) {
+    var distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+    return readOnly(() -> repository.findByTenantIdAndIds(tenantId, distinctIds));
+  }
+
+  /**
+   * Reads only the version of a resource, without loading the resource.
+   *
+   * @throws IllegalStateException if the resource doesn't have a version attribute
+   */
+  public Object getResourceVersion(UUID tenantId, UUID id) {
+    return readOnly(() -> repository.findVersionByTenantIdAndId(tenantId, id))
+        .orElseThrow(() -> new ResourceNotFoundException(id));
+  }
+
+  /**
+   * Whether the resource has a {@link jakarta.persistence.Version} attribute.
+   */
+  public boolean isVersioned() {
+    return repository.isVersioned();
+  }
+
+  public Object getVersion(T entity) {
+    return repository.getVersion(entity);
+  }
+
   public T createResource(T entity) {
     return transactionTemplate.execute(status -> {
       this.entityValidator.validateAndThrowIfErrorsExist(entity);
@@ -52,6 +241,22 @@ public class ResourceApiService<T extends BaseEntity> {
     });
   }
 
+  /**
+   * Validates every resource and, if they are all valid, creates them within one
+   * transaction. The inserts are sent to the database in JDBC batches.
+   *
+   * @param entities The resources to create
+   * @return the created resources, in the order they were supplied
+   * @throws ResourceConstraintViolationException listing the errors of every invalid
+   *     resource, the field of each error is prefixed with the index of the resource
+   */
+  public List<T> createResources(List<T> entities) {
+    entityValidator.validateAllAndThrowIfErrorsExist(entities);
+
+    return transactionTemplate.execute(
+        status -> repository.persistAllInBatches(entities, batchSize));
+  }
+
   public void deleteResource(UUID tenantId, UUID id) {
     transactionTemplate.executeWithoutResult(status -> {
       try {
@@ -63,131 +268,318 @@ public class ResourceApiService<T extends BaseEntity> {
   }
 
   public T updateResource(T entity) {
+    return updateResource(entity, null);
+  }
+
+  /**
+   * Updates a resource within a transaction if the stored resource satisfies the
+   * precondition. The version of a versioned resource is checked again when the
+   * update is written, so a concurrent update between reading and writing the
+   * resource also fails.
+   *
+   * @param entity       The resource to update
+   * @param precondition Tests the stored resource, or null if the update is unconditional
+   * @return the updated resource
+   * @throws ResourceModifiedException if the stored resource fails the precondition
+   */
+  public T updateResource(T entity, Predicate<? super T> precondition) {
 
     return transactionTemplate.execute(status -> {
       this.entityValidator.validateAndThrowIfErrorsExist(entity);
       T originalEntity = repository.findByTenantIdAndId(entity.getTenantId(), entity.getId())
-              .orElseThrow(() -> new ResourceNotFoundException(entity.getId()));
-      BeanUtils.copyProperties(entity, originalEntity, EntityUtils.ID_FIELD_NAME);
+          .orElseThrow(() -> new ResourceNotFoundException(entity.getId()));
+      checkPrecondition(originalEntity, precondition);
+      copyProperties(entity, originalEntity);
       repository.saveAndFlush(originalEntity);
       return originalEntity;
     });
   }
 
-  public List<T> updateResources(List<T> entities, UUID tenantId) {
+  /**
+   * Applies a partial update to a resource within a transaction. The update is
+   * applied to the stored resource, so only the columns it changes are written,
+   * and only the given properties are validated.
+   *
+   * @param tenantId   The tenant of the resource
+   * @param id         The id of the resource
+   * @param properties The names of the properties the update sets
+   * @param update     Applies the update to the stored resource
+   * @return the updated resource
+   */
+  public T patchResource(UUID tenantId,
+                         UUID id,
+                         Collection<String> properties,
+                         Consumer<? super T> update) {
+    return patchResource(tenantId, id, properties, update, null);
+  }
+
+  /**
+   * Applies a partial update to a resource within a transaction if the stored
+   * resource satisfies the precondition.
+   *
+   * @see #updateResource(BaseEntity, Predicate)
+   */
+  public T patchResource(UUID tenantId,
+                         UUID id,
+                         Collection<String> properties,
+                         Consumer<? super T> update,
+                         Predicate<? super T> precondition) {
 
     return transactionTemplate.execute(status -> {
+      T entity = repository.findByTenantIdAndId(tenantId, id)
+          .orElseThrow(() -> new ResourceNotFoundException(id));
+      checkPrecondition(entity, precondition);
+      update.accept(entity);
+      this.entityValidator.validatePropertiesAndThrowIfErrorsExist(entity, properties);
+      repository.flush();
+      return entity;
+    });
+  }
 
-      var mappedEntities = new HashMap<UUID, T>();
-      var entityList = new ArrayList<T>();
-      for (T entity : entities) {
-        this.entityValidator.validateAndThrowIfErrorsExist(entity);
-        mappedEntities.put(entity.getId(), entity);
-      }
+  /**
+   * Validates every resource and, if they are all valid, updates them within one
+   * transaction. The resources are processed in chunks of the batch size: the stored
+   * resources of a chunk are loaded, updated, flushed in JDBC batches and then
+   * detached before the next chunk is loaded.
+   *
+   * @return the updated resources
+   * @throws IllegalArgumentException if a resource is supplied more than once
+   * @throws ResourceConstraintViolationException listing the errors of every invalid
+   *     resource, the field of each error is prefixed with the index of the resource
+   */
+  public List<T> updateResources(List<T> entities, UUID tenantId) {
 
-      var originalEntities = repository.findByTenantIdAndIds(
-          tenantId,
-          mappedEntities.keySet());
+    checkIdsAreDistinct(entities);
+    entityValidator.validateAllAndThrowIfErrorsExist(entities);
 
-      if (originalEntities.size() != entities.size()) {
-        throw new ResourceNotFoundException();
+    return transactionTemplate.execute(status -> {
+      var entityList = new ArrayList<T>(entities.size());
+      for (var from = 0; from < entities.size(); from += batchSize) {
+        var chunk = entities.subList(from, Math.min(from + batchSize, entities.size()));
+        entityList.addAll(updateChunk(chunk, tenantId));
       }
+      return entityList;
+    });
+  }
 
-      for (T originalEntity : originalEntities) {
-        var entity = mappedEntities.get(originalEntity.getId());
-        BeanUtils.copyProperties(entity, originalEntity, EntityUtils.ID_FIELD_NAME);
-        entityList.add(originalEntity);
+  /**
+   * Deletes the resources of the tenant with the given ids within one transaction
+   * using bulk delete statements.
+   *
+   * @throws ResourceNotFoundException if any of the resources doesn't exist,
+   *     in which case none of them are deleted
+   */
+  public void deleteResources(UUID tenantId, Collection<UUID> ids) {
+    transactionTemplate.executeWithoutResult(status -> {
+      if (repository.deleteAllByTenantIdAndIds(tenantId, ids) != new HashSet<>(ids).size()) {
+        throw new ResourceNotFoundException();
       }
+    });
+  }
+
+  /**
+   * Applies the changes of a patch within one transaction. Resources are
+   * replaced, then removed and then added.
+   *
+   * @return the replaced resources followed by the added resources
+   */
+  public List<T> patchResources(UUID tenantId,
+                                List<T> replacedEntities,
+                                List<T> addedEntities,
+                                Collection<UUID> removedIds) {
 
-      repository.saveAllAndFlush(entityList);
+    return transactionTemplate.execute(status -> {
+      var entityList = new ArrayList<T>();
+      if (!replacedEntities.isEmpty()) {
+        entityList.addAll(updateResources(replacedEntities, tenantId));
+      }
+      if (!removedIds.isEmpty()) {
+        deleteResources(tenantId, removedIds);
+      }
+      if (!addedEntities.isEmpty()) {
+        entityList.addAll(createResources(addedEntities));
+      }
       return entityList;
     });
   }
 
+  /**
+   * Removes the links of the resource to the related resources by deleting the rows of
+   * the join table of the relation, so the time taken depends on the number of ids
+   * rather than the size of the relation.
+   *
+   * @throws ResourceNotFoundException if the resource doesn't exist or isn't linked to
+   *                                   every related resource
+   */
   public void deleteRelatedResources(UUID tenantId,
                                      UUID id,
                                      String relation,
                                      List<UUID> relatedIds) {
 
     transactionTemplate.executeWithoutResult(status -> {
-      T parentEntity = repository.findByTenantIdAndId(tenantId, id, relation)
-          .orElseThrow(() -> new ResourceNotFoundException(id));
-
-      Collection<?> relatedEntities = entityUtils.getRelatedEntities(parentEntity, relation);
-      Map<UUID, BaseEntity> relatedEntityIdToEntityMap =
-          relatedEntities.stream()
-              .map(BaseEntity.class::cast)
-              .collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
-
-      var notDeletableRelatedIds = new ArrayList<UUID>();
-      for (var relatedId : relatedIds) {
-        var entityReference = (BaseEntity) this.entityUtils.getEntityReference(relation, relatedId);
-        BaseEntity relatedEntityToDelete = relatedEntityIdToEntityMap.get(entityReference.getId());
-        if (!relatedEntities.remove(relatedEntityToDelete)) {
-          notDeletableRelatedIds.add(relatedId);
-        }
+      if (!repository.existsByTenantIdAndId(tenantId, id)) {
+        throw new ResourceNotFoundException(id);
       }
 
+      var linkedIds = repository.findRelatedIdsByIdAndRelation(id, relation, relatedIds);
+      var notDeletableRelatedIds = relatedIds.stream()
+          .filter(relatedId -> !linkedIds.contains(relatedId))
+          .distinct()
+          .toList();
       if (!notDeletableRelatedIds.isEmpty()) {
         throw new ResourceNotFoundException(deletableRelatedResourcesMessage(
             entityUtils.getRelatedType(relation), notDeletableRelatedIds));
       }
 
-      repository.saveAndFlush(parentEntity);
+      repository.deleteRelatedByIdAndRelation(id, relation, relatedIds);
     });
   }
 
+  /**
+   * Links the resource to the related resources by inserting the missing rows of the
+   * join table of the relation, so the time taken depends on the number of ids rather
+   * than the size of the relation.
+   *
+   * @throws ResourceNotFoundException if the resource or any of the related resources
+   *                                   don't exist for the tenant
+   */
   public void addRelatedResources(UUID tenantId,
                                   UUID id,
                                   String relation,
                                   List<UUID> relatedIds) {
 
     transactionTemplate.executeWithoutResult(status -> {
-      try {
-        T parentEntity = repository.findByTenantIdAndId(tenantId, id, relation)
-            .orElseThrow(() -> new ResourceNotFoundException(id));
-
-        var totalMatchingRelations = repository.countAllByTenantIdAndRelation(
-            tenantId, entityUtils.getRelatedType(relation), relatedIds);
-        if (totalMatchingRelations != relatedIds.size()) {
-          throw new ResourceNotFoundException(relatedResourcesMessage(relatedIds));
-        }
-
-        var relatedEntities = entityUtils.getRelatedEntities(parentEntity, relation);
-        var relatedEntityIdToEntityMap =
-            relatedEntities.stream()
-                .map(BaseEntity.class::cast)
-                .collect(Collectors
-                    .toMap(BaseEntity::getId, Function.identity()));
-
-        for (var relatedId : relatedIds) {
-          var entityReference = (BaseEntity) this.entityUtils.getEntityReference(
-              relation, relatedId);
-          if (!relatedEntityIdToEntityMap.containsKey(entityReference.getId())) {
-            relatedEntities.add(entityReference);
-          }
-        }
-
-        repository.saveAndFlush(parentEntity);
-      } catch (EntityNotFoundException ex) {
+      if (!repository.existsByTenantIdAndId(tenantId, id)) {
         throw new ResourceNotFoundException(id);
       }
+
+      var distinctRelatedIds = new LinkedHashSet<>(relatedIds);
+      var totalMatchingRelations = repository.countAllByTenantIdAndRelation(
+          tenantId, entityUtils.getRelatedType(relation), distinctRelatedIds);
+      if (totalMatchingRelations != distinctRelatedIds.size()) {
+        throw new ResourceNotFoundException(relatedResourcesMessage(relatedIds));
+      }
+
+      repository.addRelatedByTenantIdAndId(tenantId, id, relation, distinctRelatedIds);
     });
   }
 
   @SuppressWarnings("squid:S1452") // Generic wildcard types should not be used in return parameters
-  public List<?> getRelatedResources(UUID tenantId,
-                                     UUID id,
-                                     String relation,
-                                     Pageable pageable,
-                                     SpelExpression filter) {
-    return repository.findAllByTenantIdAndIdAndRelation(
-        tenantId, id, relation, entityUtils.getRelatedType(relation), filter, pageable);
+  public Slice<?> getRelatedResources(UUID tenantId,
+                                      UUID id,
+                                      String relation,
+                                      Pageable pageable,
+                                      SpelExpression filter,
+                                      KeysetCursor cursor) {
+    return readOnly(() -> repository.findAllByTenantIdAndIdAndRelation(
+        tenantId, id, relation, entityUtils.getRelatedType(relation), filter, pageable, cursor));
+  }
+
+  /**
+   * Reads a page of the ids of the related resources without loading them.
+   */
+  public Slice<Map<String, Object>> getRelatedIds(UUID tenantId,
+                                                  UUID id,
+                                                  String relation,
+                                                  Pageable pageable,
+                                                  SpelExpression filter,
+                                                  KeysetCursor cursor) {
+    return readOnly(() -> repository.findAllRelatedIdsByTenantIdAndId(
+        tenantId, id, relation, filter, pageable, cursor));
+  }
+
+  /**
+   * Reads the related resources of each of the resources with the given ids through
+   * each of the relations, with one query for each relation rather than one for each
+   * resource.
+   *
+   * @return the related resources keyed by the relation and then by the resource id
+   * @throws IllegalArgumentException if a relation doesn't exist
+   * @see TenantRepository#findAllRelatedByTenantIdAndIds
+   */
+  public Map<String, Map<UUID, List<Object>>> getIncludedResources(UUID tenantId,
+                                                                   Collection<UUID> ids,
+                                                                   Collection<String> relations) {
+    for (String relation : relations) {
+      if (!entityUtils.getRelatedResources().contains(relation)) {
+        throw new IllegalArgumentException(
+            String.format("Relation '%s' does not exist", relation));
+      }
+    }
+    return readOnly(() -> {
+      var included = new LinkedHashMap<String, Map<UUID, List<Object>>>();
+      for (String relation : relations) {
+        included.put(relation, repository.findAllRelatedByTenantIdAndIds(tenantId, ids, relation));
+      }
+      return included;
+    });
+  }
+
+  public Long countRelatedResources(UUID tenantId,
+                                    UUID id,
+                                    String relation,
+                                    SpelExpression filter,
+                                    CountMode count) {
+    return switch (count) {
+      case EXACT -> readOnly(() -> repository.countAllByTenantIdAndIdAndRelation(
+          tenantId, id, relation, filter, null));
+      case CAPPED -> readOnly(() -> repository.countAllByTenantIdAndIdAndRelation(
+          tenantId, id, relation, filter, countLimit));
+      case NONE -> null;
+    };
   }
 
   public UUID getEntityId(T entity) {
     return repository.findId(entity);
   }
 
+  private <R> R readOnly(Supplier<R> read) {
+    return readOnlyTransactionTemplate.execute(status -> read.get());
+  }
+
+  private List<T> updateChunk(List<T> entities, UUID tenantId) {
+    // The resources are read, and so returned, in the order they were supplied
+    var mappedEntities = new LinkedHashMap<UUID, T>();
+    for (T entity : entities) {
+      mappedEntities.put(entity.getId(), entity);
+    }
+
+    var originalEntities = repository.findByTenantIdAndIds(tenantId, mappedEntities.keySet());
+    if (originalEntities.size() != mappedEntities.size()) {
+      throw new ResourceNotFoundException();
+    }
+
+    for (T originalEntity : originalEntities) {
+      copyProperties(mappedEntities.get(originalEntity.getId()), originalEntity);
+    }
+    repository.flushAndClear(batchSize);
+    return originalEntities;
+  }
+
+  /**
+   * Rejects updates that supply the same resource more than once, as only one of
+   * them could be applied.
+   */
+  private static void checkIdsAreDistinct(List<? extends BaseEntity> entities) {
+    var ids = new HashSet<UUID>();
+    for (var entity : entities) {
+      if (!ids.add(entity.getId())) {
+        throw new IllegalArgumentException(String.format(
+            "The resource with id %s can only be updated once in a request", entity.getId()));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void copyProperties(T source, T target) {
+    PropertyCopier.forType((Class<T>) source.getClass()).copy(source, target);
+  }
+
+  private static <T extends BaseEntity> void checkPrecondition(
+      T entity, Predicate<? super T> precondition) {
+    if (precondition != null && !precondition.test(entity)) {
+      throw new ResourceModifiedException(entity.getId());
+    }
+  }
 
 }
@@ -1,6 +1,7 @@
 package uk.gov.homeoffice.digital.sas.jparest.swagger;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.CommonUtils.getFieldNameOrThrow;
 
 import io.swagger.v3.core.converter.AnnotatedType;
@@ -11,8 +12,10 @@ import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.Parameter;
@@ -29,7 +32,10 @@ import org.slf4j.LoggerFactory;
 import org.springdoc.core.utils.SpringDocAnnotationsUtils;
 import org.springframework.stereotype.Component;
 import uk.gov.homeoffice.digital.sas.jparest.annotation.Resource;
+import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
+import uk.gov.homeoffice.digital.sas.jparest.controller.enums.CountMode;
 import uk.gov.homeoffice.digital.sas.jparest.controller.enums.RequestParameter;
+import uk.gov.homeoffice.digital.sas.jparest.service.ResourceApiService;
 import uk.gov.homeoffice.digital.sas.jparest.web.PatchOperation;
 
 @Component
@@ -38,6 +44,19 @@ public class PathItemCreator {
   private static final ApiResponse EMPTY_RESPONSE = emptyResponse();
   private static final Parameter ID_PARAMETER = getParameter(RequestParameter.ID);
   private static final Parameter PAGEABLE_PARAMETER = getParameter(RequestParameter.PAGEABLE);
+  private static final Parameter CURSOR_PARAMETER = getCursorParameter();
+  private static final Parameter COUNT_PARAMETER = getCountParameter();
+  private static final Parameter STREAM_PARAMETER = getStreamParameter();
+  private static final Parameter IDS_PARAMETER = getIdsParameter();
+  private static final Parameter RESOURCE_IDS_PARAMETER = getResourceIdsParameter();
+  private static final Parameter FIELDS_PARAMETER = getFieldsParameter();
+  private static final Parameter AGGREGATE_PARAMETER = getAggregateParameter();
+  private static final Parameter GROUP_BY_PARAMETER = getGroupByParameter();
+  private static final Parameter INCLUDE_PARAMETER = getIncludeParameter();
+  private static final Parameter IF_NONE_MATCH_PARAMETER = getIfNoneMatchParameter();
+  private static final Parameter IF_MATCH_PARAMETER = getIfMatchParameter();
+  private static final String NOT_MODIFIED = "304";
+  private static final String PRECONDITION_FAILED = "412";
   private static final Parameter TENANT_ID_PARAMETER = getParameter(RequestParameter.TENANT_ID);
 
   private static final Map<String, RequestParameter> PARAM_NAME_TO_ENUM_MAP =
@@ -60,9 +79,11 @@ public class PathItemCreator {
     ApiResponses responses = new ApiResponses().addApiResponse("200", response);
 
     var get = new Operation();
-    get.setResponses(responses);
-    addParametersToOperation(get, TENANT_ID_PARAMETER, PAGEABLE_PARAMETER,
-        getFilterParameter(clazz));
+    get.setResponses(new ApiResponses().addApiResponse("200", getListResponse(clazz))
+        .addApiResponse(NOT_MODIFIED, getNotModifiedResponse()));
+    addParametersToOperation(get, TENANT_ID_PARAMETER, PAGEABLE_PARAMETER, CURSOR_PARAMETER,
+        RESOURCE_IDS_PARAMETER, COUNT_PARAMETER, STREAM_PARAMETER, FIELDS_PARAMETER,
+        getFilterParameter(clazz), INCLUDE_PARAMETER, IF_NONE_MATCH_PARAMETER);
     get.addTagsItem(tag);
     var pi = new PathItem();
     pi.get(get);
@@ -88,6 +109,46 @@ public class PathItemCreator {
     return pi;
   }
 
+  /**
+   * Creates documentation for the endpoint that creates many resources at once.
+   *
+   * @param tag   The tag to group the endpoints together. Expected to be the
+   *              simplename of the resource
+   * @param clazz The class representing the resource exposed by the endpoint
+   * @return PathItem documenting the batch POST endpoint
+   */
+  public PathItem createBatchPath(String tag, Class<?> clazz) {
+
+    var post = new Operation();
+    post.setResponses(new ApiResponses().addApiResponse("200", getResourceResponse(clazz)));
+    addParametersToOperation(post, TENANT_ID_PARAMETER);
+    post.addTagsItem(tag);
+    var arraySchema = new ArraySchema();
+    arraySchema.setItems(SpringDocAnnotationsUtils.extractSchema(null, clazz, null, null));
+    post.setRequestBody(getRequestBody(arraySchema));
+
+    return new PathItem().post(post);
+  }
+
+  /**
+   * Creates documentation for the endpoint that aggregates the resources.
+   *
+   * @param tag   The tag to group the endpoints together. Expected to be the
+   *              simplename of the resource
+   * @param clazz The class representing the resource exposed by the endpoint
+   * @return PathItem documenting the aggregate GET endpoint
+   */
+  public PathItem createAggregatePath(String tag, Class<?> clazz) {
+
+    var get = new Operation();
+    get.setResponses(new ApiResponses().addApiResponse("200", getAggregateResponse()));
+    addParametersToOperation(get, TENANT_ID_PARAMETER, PAGEABLE_PARAMETER,
+        getFilterParameter(clazz), AGGREGATE_PARAMETER, GROUP_BY_PARAMETER);
+    get.addTagsItem(tag);
+
+    return new PathItem().get(get);
+  }
+
   /**
    * Creates documentation for the endpoints of the resource
    * covers get and put (update) individual resource.
@@ -95,29 +156,40 @@ public class PathItemCreator {
    * @param tag   The tag to group the endpoints together. Expected to be the
    *              simplename of the resource
    * @param clazz The class representing the resource exposed by the endpoint
-   * @return PathItem documenting the GET one and PUT endpoints
+   * @return PathItem documenting the GET one, PUT, PATCH and DELETE endpoints
    */
   public PathItem createItemPath(String tag, Class<?> clazz) {
 
     var pi = new PathItem();
 
     ApiResponse response = getResourceResponse(clazz);
-    ApiResponses responses = new ApiResponses().addApiResponse("200", response);
 
     var get = new Operation();
-    get.setResponses(responses);
+    get.setResponses(new ApiResponses().addApiResponse("200", response)
+        .addApiResponse(NOT_MODIFIED, getNotModifiedResponse()));
     get.addTagsItem(tag);
     pi.get(get);
-    addParametersToOperation(get, TENANT_ID_PARAMETER, ID_PARAMETER);
+    addParametersToOperation(get, TENANT_ID_PARAMETER, ID_PARAMETER, FIELDS_PARAMETER,
+        INCLUDE_PARAMETER, IF_NONE_MATCH_PARAMETER);
+
+    var conditionalResponses = new ApiResponses().addApiResponse("200", response)
+        .addApiResponse(PRECONDITION_FAILED, getPreconditionFailedResponse());
 
     var put = new Operation();
-    addParametersToOperation(put, TENANT_ID_PARAMETER, ID_PARAMETER);
+    addParametersToOperation(put, TENANT_ID_PARAMETER, ID_PARAMETER, IF_MATCH_PARAMETER);
     var requestBody = getRequestBody(clazz);
     put.setRequestBody(requestBody);
-    put.setResponses(responses);
+    put.setResponses(conditionalResponses);
     put.addTagsItem(tag);
     pi.put(put);
 
+    var patch = new Operation();
+    addParametersToOperation(patch, TENANT_ID_PARAMETER, ID_PARAMETER, IF_MATCH_PARAMETER);
+    patch.setRequestBody(getMergePatchRequestBody(clazz));
+    patch.setResponses(conditionalResponses);
+    patch.addTagsItem(tag);
+    pi.patch(patch);
+
     var delete = new Operation();
     ApiResponses deleteResponses = new ApiResponses().addApiResponse("200", EMPTY_RESPONSE);
     addParametersToOperation(delete, TENANT_ID_PARAMETER, ID_PARAMETER);
@@ -145,7 +217,7 @@ public class PathItemCreator {
 
     var get = new Operation();
     addParametersToOperation(get, TENANT_ID_PARAMETER, ID_PARAMETER, PAGEABLE_PARAMETER,
-        getFilterParameter(clazz));
+        CURSOR_PARAMETER, IDS_PARAMETER, COUNT_PARAMETER, getFilterParameter(clazz));
     get.setResponses(responses);
     get.addTagsItem(tag);
     var pi = new PathItem();
@@ -207,6 +279,42 @@ public class PathItemCreator {
     return response;
   }
 
+  /**
+   * Returns a swagger ApiResponse for the list of resources. As well as the
+   * {@link ApiResponse} the resources can be streamed as newline delimited JSON.
+   *
+   * @param clazz The type of items to describe in the schema
+   * @return ApiResponse
+   */
+  private static ApiResponse getListResponse(Class<?> clazz) {
+    var response = getResourceResponse(clazz);
+
+    var mt = new MediaType();
+    mt.schema(SpringDocAnnotationsUtils.extractSchema(new Components(), clazz, null, null));
+    response.getContent().addMediaType(APPLICATION_NDJSON_VALUE, mt);
+
+    return response;
+  }
+
+  /**
+   * Returns a swagger ApiResponse for the aggregates, each item being an object of
+   * the group by properties and the aggregates.
+   *
+   * @return ApiResponse
+   */
+  private static ApiResponse getAggregateResponse() {
+    Schema<?> schema = ModelConverters.getInstance()
+        .read(new AnnotatedType(uk.gov.homeoffice.digital.sas.jparest.web.ApiResponse.class)
+            .resolveAsRef(false))
+        .get("ApiResponse");
+    var arraySchema = (ArraySchema) schema.getProperties().get("items");
+    arraySchema.setItems(new ObjectSchema().additionalProperties(true));
+
+    var mt = new MediaType();
+    mt.schema(schema);
+    return new ApiResponse().content(new Content().addMediaType(APPLICATION_JSON_VALUE, mt));
+  }
+
   /**
    * <p>
    * generates a schema for the ApiResponse.
@@ -262,6 +370,207 @@ public class PathItemCreator {
     return parameter;
   }
 
+  /**
+   * <p>
+   * Defines the parameter used to continue reading a list of resources
+   * from the cursor returned in the metadata of the previous page.
+   * </p>
+   *
+   * @return Parameter representing the cursor
+   */
+  private static Parameter getCursorParameter() {
+    var parameter = getParameter(RequestParameter.CURSOR);
+    parameter.description("The nextCursor returned in the metadata of the previous page. "
+        + "When supplied the page is read from the position after the cursor "
+        + "and the page number is ignored.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter used to request the total number of resources.
+   * </p>
+   *
+   * @return Parameter representing the count mode
+   */
+  private static Parameter getCountParameter() {
+    var parameter = getParameter(RequestParameter.COUNT);
+    var schema = new StringSchema();
+    Arrays.stream(CountMode.values()).forEach(mode -> schema.addEnumItem(mode.getValue()));
+    schema.setDefault(CountMode.NONE.getValue());
+    parameter.schema(schema);
+    parameter.description("How the totalCount in the metadata is counted. "
+        + "capped stops counting at the limit set by jparest.count.limit, "
+        + ResourceApiService.DEFAULT_COUNT_LIMIT + " resources by default, "
+        + "and sets totalCountExact to false when the limit is reached.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter used to stream every resource as newline delimited JSON.
+   * </p>
+   *
+   * @return Parameter representing the stream flag
+   */
+  private static Parameter getStreamParameter() {
+    var parameter = getParameter(RequestParameter.STREAM);
+    parameter.description("When true every resource that matches the filter is written as "
+        + "newline delimited JSON in the order of the sort. "
+        + "The page, size, cursor and count parameters are ignored.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter used to read only the ids of related resources.
+   * </p>
+   *
+   * @return Parameter representing the ids flag
+   */
+  private static Parameter getIdsParameter() {
+    var parameter = getParameter(RequestParameter.IDS_ONLY);
+    parameter.schema(new BooleanSchema());
+    parameter.description("When true the items are the ids of the related resources "
+        + "rather than the resources, which aren't loaded. The ids can still be filtered, "
+        + "sorted and paged.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter used to read the resources with the given ids.
+   * </p>
+   *
+   * @return Parameter representing the ids of the resources
+   */
+  private static Parameter getResourceIdsParameter() {
+    var parameter = getArrayParameter(UUID.class, RequestParameter.IDS);
+    parameter.explode(false);
+    parameter.description("A comma separated list of the ids of the resources to read. The "
+        + "resources are returned in the order of the ids, ignoring ids that don't match a "
+        + "resource of the tenant. Only the fields parameter is applied when ids are given.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter used to read only some of the properties of resources.
+   * </p>
+   *
+   * @return Parameter representing the fields
+   */
+  private static Parameter getFieldsParameter() {
+    var parameter = getParameter(RequestParameter.FIELDS);
+    parameter.description("A comma separated list of the properties to return. Only the "
+        + "columns of those properties are read and each item only has those properties, "
+        + "its id and the properties it is sorted by. Associations can't be requested. "
+        + "Conditional requests aren't supported when fields are requested.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter listing the aggregates to calculate.
+   * </p>
+   *
+   * @return Parameter representing the aggregates
+   */
+  private static Parameter getAggregateParameter() {
+    var parameter = getParameter(RequestParameter.AGGREGATE);
+    parameter.description("A comma separated list of the aggregates to calculate for each "
+        + "group, either count or one of count, sum, avg, min or max applied to a property, "
+        + "e.g. count,sum(hours). Each aggregate is returned as a property named after it "
+        + "and groups can be sorted by it, e.g. sort=sum(hours),desc.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter listing the properties the aggregates are grouped by.
+   * </p>
+   *
+   * @return Parameter representing the group by properties
+   */
+  private static Parameter getGroupByParameter() {
+    var parameter = getParameter(RequestParameter.GROUP_BY);
+    parameter.description("A comma separated list of the properties to group the "
+        + "resources by. Each group is returned with its values of those properties and "
+        + "groups are sorted by them unless another sort is given. When no properties are "
+        + "given the aggregates are calculated over every resource that matches the filter.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the parameter listing the relations whose resources are included.
+   * </p>
+   *
+   * @return Parameter representing the included relations
+   */
+  private static Parameter getIncludeParameter() {
+    var parameter = getParameter(RequestParameter.INCLUDE);
+    parameter.description("A comma separated list of the relations whose resources are "
+        + "returned with the items. The related resources are returned in the included "
+        + "property of the response, keyed by the relation and then by the id of the item. "
+        + "Each relation is read with one query for the whole page.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the header used to read a resource only if it has changed.
+   * </p>
+   *
+   * @return Parameter representing the If-None-Match header
+   */
+  private static Parameter getIfNoneMatchParameter() {
+    var parameter = new Parameter();
+    parameter.schema(new StringSchema());
+    parameter.setIn(RequestParameter.IF_NONE_MATCH.getParamType());
+    parameter.required(RequestParameter.IF_NONE_MATCH.isRequired());
+    parameter.name(RequestParameter.IF_NONE_MATCH.getParamName());
+    parameter.description("The ETag of a previous response. When it still matches "
+        + "the response is 304 Not Modified with an empty body.");
+    return parameter;
+  }
+
+  /**
+   * <p>
+   * Defines the header used to update a resource only if it hasn't changed.
+   * </p>
+   *
+   * @return Parameter representing the If-Match header
+   */
+  private static Parameter getIfMatchParameter() {
+    var parameter = new Parameter();
+    parameter.schema(new StringSchema());
+    parameter.setIn(RequestParameter.IF_MATCH.getParamType());
+    parameter.required(RequestParameter.IF_MATCH.isRequired());
+    parameter.name(RequestParameter.IF_MATCH.getParamName());
+    parameter.description("The ETag of the resource when it was read. When it no longer "
+        + "matches the resource isn't updated and the response is 412 Precondition Failed.");
+    return parameter;
+  }
+
+  /**
+   * Returns the response sent when the If-Match header doesn't match the ETag.
+   *
+   * @return ApiResponse without content
+   */
+  private static ApiResponse getPreconditionFailedResponse() {
+    return new ApiResponse().description("Precondition Failed");
+  }
+
+  /**
+   * Returns the response sent when the If-None-Match header matches the ETag.
+   *
+   * @return ApiResponse without content
+   */
+  private static ApiResponse getNotModifiedResponse() {
+    return new ApiResponse().description("Not Modified");
+  }
+
   /**
    * Generates a parameter for an array of the specified class
    * based on the given RequestParameter type.
@@ -341,6 +650,22 @@ public class PathItemCreator {
     return getRequestBody(arraySchema);
   }
 
+  /**
+   * Returns a swagger RequestBody for merge patch requests. The schema is the
+   * schema of the resource, but only the properties to change are sent.
+   *
+   * @param clazz The type of item to describe in the schema
+   * @return RequestBody
+   */
+  private static RequestBody getMergePatchRequestBody(Class<?> clazz) {
+    var mediaType = new MediaType();
+    mediaType.schema(SpringDocAnnotationsUtils.extractSchema(null, clazz, null, null));
+    var requestBody = new RequestBody();
+    requestBody.setContent(new Content().addMediaType(
+        ResourceApiController.MERGE_PATCH_MEDIA_TYPE, mediaType));
+    return requestBody;
+  }
+
   /**
    * <p>
    * Generates an empty/unspecified response.
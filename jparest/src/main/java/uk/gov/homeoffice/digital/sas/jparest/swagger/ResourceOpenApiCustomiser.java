@@ -1,6 +1,8 @@
 package uk.gov.homeoffice.digital.sas.jparest.swagger;
 
 import static uk.gov.homeoffice.digital.sas.jparest.utils.CommonUtils.getFieldNameOrThrow;
+import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_AGGREGATE_PATH;
+import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_BATCH_PATH;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_ID_PATH_PARAM;
 import static uk.gov.homeoffice.digital.sas.jparest.utils.ConstantHelper.URL_RELATED_ID_PATH_PARAM;
 
@@ -138,6 +140,10 @@ public class ResourceOpenApiCustomiser implements OpenApiCustomizer {
                                       String tag) {
     var resourceRootPath = pathItemCreator.createRootPath(tag, clazz);
     openApi.path(rootDescriptor.getPath(), resourceRootPath);
+    var resourceBatchPath = pathItemCreator.createBatchPath(tag, clazz);
+    openApi.path(rootDescriptor.getPath() + URL_BATCH_PATH, resourceBatchPath);
+    var resourceAggregatePath = pathItemCreator.createAggregatePath(tag, clazz);
+    openApi.path(rootDescriptor.getPath() + URL_AGGREGATE_PATH, resourceAggregatePath);
     var resourceItemPath = pathItemCreator.createItemPath(tag, clazz);
     openApi.path(rootDescriptor.getPath() + URL_ID_PATH_PARAM, resourceItemPath);
   }
@@ -0,0 +1,24 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A point in time snapshot of the counters of a {@link LruCache}.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStatistics {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final int size;
+  private final int maximumSize;
+
+  public double getHitRatio() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+  }
+
+}
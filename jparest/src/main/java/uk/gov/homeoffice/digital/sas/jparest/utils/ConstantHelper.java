@@ -9,6 +9,8 @@ public class ConstantHelper {
   public static final String URL_ID_PATH_PARAM = "/{" + RequestParameter.ID.getParamName() + "}";
   public static final String URL_RELATED_ID_PATH_PARAM = "/{"
       + RequestParameter.RELATED_IDS.getParamName() + "}";
+  public static final String URL_BATCH_PATH = "/batch";
+  public static final String URL_AGGREGATE_PATH = "/aggregate";
   @SuppressWarnings("squid:S1075") // URIs should not be hardcoded
   public static final String API_ROOT_PATH = "/resources";
   public static final String PATH_DELIMITER = "/";
@@ -0,0 +1,135 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+
+/**
+ * Converts the literals of filters to the types of the properties they are compared with.
+ *
+ * <p>The converters are functions held in an immutable registry that share no mutable
+ * state between threads, so they can be used by any number of threads at once. A
+ * converter should be resolved once for a property with {@link #forType(Class)} and
+ * applied to each of its literals. Types without a registered converter, other than
+ * enums, are converted by the shared {@link DefaultConversionService}.
+ *
+ * <p>Blank strings are converted to null. Values that can't be converted throw a
+ * {@link TypeMismatchException}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LiteralConverters {
+
+  private static final ThreadLocal<DateFormat> DATE_FORMAT =
+      ThreadLocal.withInitial(StdDateFormat::new);
+
+  private static final Map<Class<?>, Function<String, ?>> PARSERS = Map.ofEntries(
+      Map.entry(String.class, text -> text),
+      Map.entry(UUID.class, UUID::fromString),
+      Map.entry(Instant.class, Instant::parse),
+      Map.entry(LocalDate.class, LocalDate::parse),
+      Map.entry(Date.class, LiteralConverters::parseDate),
+      Map.entry(Boolean.class, LiteralConverters::parseBoolean),
+      Map.entry(Byte.class, text -> NumberUtils.parseNumber(text, Byte.class)),
+      Map.entry(Short.class, text -> NumberUtils.parseNumber(text, Short.class)),
+      Map.entry(Integer.class, text -> NumberUtils.parseNumber(text, Integer.class)),
+      Map.entry(Long.class, text -> NumberUtils.parseNumber(text, Long.class)),
+      Map.entry(Float.class, text -> NumberUtils.parseNumber(text, Float.class)),
+      Map.entry(Double.class, text -> NumberUtils.parseNumber(text, Double.class)),
+      Map.entry(BigInteger.class, text -> NumberUtils.parseNumber(text, BigInteger.class)),
+      Map.entry(BigDecimal.class, text -> NumberUtils.parseNumber(text, BigDecimal.class)));
+
+  /**
+   * Returns the converter of literals to the given type.
+   *
+   * @param type The type of the property the literals are compared with
+   * @return a thread safe function converting a literal to the type
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static <Y> Function<Object, Y> forType(Class<Y> type) {
+    var targetType = (Class<Y>) ClassUtils.resolvePrimitiveIfNecessary(type);
+    var parser = (Function<String, Y>) PARSERS.get(targetType);
+    if (parser == null && targetType.isEnum()) {
+      parser = text -> (Y) Enum.valueOf((Class<Enum>) targetType, text);
+    }
+    if (parser == null) {
+      return value -> convertWithConversionService(value, targetType);
+    }
+
+    var textParser = parser;
+    if (Number.class.isAssignableFrom(targetType)) {
+      return value -> value instanceof Number number
+          ? convertNumber(number, targetType)
+          : parse(value, targetType, textParser);
+    }
+    return value -> parse(value, targetType, textParser);
+  }
+
+  private static <Y> Y parse(Object value, Class<Y> type, Function<String, Y> parser) {
+    if (value == null || type.isInstance(value)) {
+      return type.cast(value);
+    }
+    var text = value.toString().trim();
+    if (text.isEmpty()) {
+      return null;
+    }
+    try {
+      return parser.apply(text);
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new TypeMismatchException(value, type, ex);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <Y> Y convertNumber(Number value, Class<Y> type) {
+    try {
+      return (Y) NumberUtils.convertNumberToTargetClass(value, (Class<? extends Number>) type);
+    } catch (IllegalArgumentException ex) {
+      throw new TypeMismatchException(value, type, ex);
+    }
+  }
+
+  private static <Y> Y convertWithConversionService(Object value, Class<Y> type) {
+    try {
+      return DefaultConversionService.getSharedInstance().convert(value, type);
+    } catch (ConversionException ex) {
+      throw new TypeMismatchException(value, type, ex);
+    }
+  }
+
+  private static Boolean parseBoolean(String text) {
+    return switch (text.toLowerCase(Locale.ROOT)) {
+      case "true", "on", "yes", "1" -> Boolean.TRUE;
+      case "false", "off", "no", "0" -> Boolean.FALSE;
+      default -> throw new IllegalArgumentException("Invalid boolean value [" + text + "]");
+    };
+  }
+
+  /**
+   * Parses dates as Jackson does, with a format per thread as the format is mutable.
+   */
+  private static Date parseDate(String text) {
+    try {
+      return DATE_FORMAT.get().parse(text);
+    } catch (ParseException ex) {
+      throw new IllegalArgumentException(ex.getMessage(), ex);
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.springframework.util.Assert;
+
+/**
+ * A thread safe, size bounded, least recently used cache.
+ *
+ * <p>When the number of entries, or the total weight of the entries,
+ * exceeds the maximum the least recently accessed entries are evicted.
+ * Hits, misses and evictions are counted so the cache can be sized from
+ * its {@link CacheStatistics}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class LruCache<K, V> {
+
+  private final int maximumSize;
+  private final long maximumWeight;
+  private final ToLongFunction<K> weigher;
+  private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalWeight;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public LruCache(int maximumSize) {
+    this(maximumSize, Long.MAX_VALUE, key -> 0);
+  }
+
+  /**
+   * Creates a cache bounded by both the number of entries and
+   * the total weight of the cached keys.
+   *
+   * @param maximumSize   the maximum number of entries
+   * @param maximumWeight the maximum total weight of the entries
+   * @param weigher       calculates the weight of an entry from its key
+   */
+  public LruCache(int maximumSize, long maximumWeight, ToLongFunction<K> weigher) {
+    Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+    Assert.isTrue(maximumWeight > 0, "maximumWeight must be greater than 0");
+    Assert.notNull(weigher, "weigher must not be null");
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Returns the value cached for the key, computing and caching it
+   * with the mapping function if it is not present. The mapping function
+   * is invoked outside of the cache lock so an expensive computation does
+   * not block other readers; if it throws nothing is cached.
+   *
+   * @param key             the key of the value
+   * @param mappingFunction the function used to compute a missing value
+   * @return the cached or newly computed value
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    value = mappingFunction.apply(key);
+    if (value != null) {
+      put(key, value);
+    }
+    return value;
+  }
+
+  public V get(K key) {
+    V value;
+    synchronized (entries) {
+      value = entries.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Caches the value against the key. Entries heavier than the
+   * maximum weight are not cached.
+   */
+  public void put(K key, V value) {
+    long weight = weigher.applyAsLong(key);
+    if (weight > maximumWeight) {
+      return;
+    }
+    synchronized (entries) {
+      if (entries.put(key, value) == null) {
+        totalWeight += weight;
+      }
+      evictExcessEntries();
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      totalWeight = 0;
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(
+        hits.sum(), misses.sum(), evictions.sum(), size(), maximumSize);
+  }
+
+  private void evictExcessEntries() {
+    Iterator<K> eldest = entries.keySet().iterator();
+    while ((entries.size() > maximumSize || totalWeight > maximumWeight) && eldest.hasNext()) {
+      totalWeight -= weigher.applyAsLong(eldest.next());
+      eldest.remove();
+      evictions.increment();
+    }
+  }
+
+}
@@ -0,0 +1,172 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import static uk.gov.homeoffice.digital.sas.jparest.utils.CommonUtils.getFieldNameOrThrow;
+
+import jakarta.persistence.Version;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
+import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+
+/**
+ * Copies the writable properties of one entity onto another of the same type.
+ *
+ * <p>The getters and setters of a type are found once and compiled into lambdas
+ * with the {@link LambdaMetafactory}, so copying doesn't introspect the type or
+ * invoke methods reflectively. The id, tenant id and version are never copied, the
+ * version being managed by the persistence provider.
+ *
+ * <p>A property is only set on the target if its value has changed, so only the
+ * changed properties are dirty when the target is flushed. Associations that
+ * haven't been loaded on the target are always set rather than loaded to be compared.
+ *
+ * @param <T> the type of entity copied
+ */
+public final class PropertyCopier<T> {
+
+  private static final Set<String> EXCLUDED_PROPERTIES =
+      Set.of(EntityUtils.ID_FIELD_NAME, getFieldNameOrThrow(BaseEntity.class, "tenantId"));
+
+  private static final ClassValue<PropertyCopier<?>> COPIERS = new ClassValue<>() {
+    @Override
+    protected PropertyCopier<?> computeValue(Class<?> type) {
+      return new PropertyCopier<>(type);
+    }
+  };
+
+  private final List<Property<T>> properties = new ArrayList<>();
+
+  private PropertyCopier(Class<T> type) {
+    for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+      var readMethod = descriptor.getReadMethod();
+      var writeMethod = descriptor.getWriteMethod();
+      if (readMethod != null && writeMethod != null
+          && !EXCLUDED_PROPERTIES.contains(descriptor.getName())
+          && !isVersion(type, descriptor)) {
+        properties.add(new Property<>(
+            descriptor.getName(), createGetter(readMethod), createSetter(writeMethod)));
+      }
+    }
+  }
+
+  /**
+   * Returns the copier for the type, creating it the first time it is requested.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> PropertyCopier<T> forType(Class<T> type) {
+    return (PropertyCopier<T>) COPIERS.get(type);
+  }
+
+  /**
+   * Copies the properties of the source that differ from the target onto the target.
+   *
+   * @param source The entity to copy from
+   * @param target The entity to copy to
+   * @return the names of the properties that were changed
+   */
+  public List<String> copy(T source, T target) {
+    var changed = new ArrayList<String>();
+    for (Property<T> property : properties) {
+      var value = property.getter().apply(source);
+      var currentValue = property.getter().apply(target);
+      if (value != currentValue
+          && (!Hibernate.isInitialized(currentValue) || !Objects.equals(value, currentValue))) {
+        property.setter().accept(target, value);
+        changed.add(property.name());
+      }
+    }
+    return changed;
+  }
+
+  private static boolean isVersion(Class<?> type, PropertyDescriptor descriptor) {
+    if (descriptor.getReadMethod().isAnnotationPresent(Version.class)) {
+      return true;
+    }
+    var field = ReflectionUtils.findField(type, descriptor.getName());
+    return field != null && field.isAnnotationPresent(Version.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Function<T, Object> createGetter(Method method) {
+    var lookup = lookupIn(method.getDeclaringClass());
+    var handle = unreflect(lookup, method);
+    try {
+      var callSite = LambdaMetafactory.metafactory(lookup, "apply",
+          MethodType.methodType(Function.class),
+          MethodType.methodType(Object.class, Object.class),
+          handle,
+          handle.type().wrap());
+      return (Function<T, Object>) callSite.getTarget().invoke();
+    } catch (Throwable ex) {
+      // The lambda can't be created, e.g. across module boundaries, so call the handle
+      var genericHandle = handle.asType(MethodType.genericMethodType(1));
+      return entity -> {
+        try {
+          return genericHandle.invokeExact((Object) entity);
+        } catch (Throwable invokeEx) {
+          throw new IllegalStateException(invokeEx);
+        }
+      };
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> BiConsumer<T, Object> createSetter(Method method) {
+    var lookup = lookupIn(method.getDeclaringClass());
+    var handle = unreflect(lookup, method);
+    try {
+      var callSite = LambdaMetafactory.metafactory(lookup, "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class),
+          handle,
+          handle.type().wrap().changeReturnType(void.class));
+      return (BiConsumer<T, Object>) callSite.getTarget().invoke();
+    } catch (Throwable ex) {
+      // The lambda can't be created, e.g. across module boundaries, so call the handle
+      var genericHandle = handle.asType(
+          MethodType.methodType(void.class, Object.class, Object.class));
+      return (entity, value) -> {
+        try {
+          genericHandle.invokeExact((Object) entity, value);
+        } catch (Throwable invokeEx) {
+          throw new IllegalStateException(invokeEx);
+        }
+      };
+    }
+  }
+
+  private static MethodHandles.Lookup lookupIn(Class<?> type) {
+    try {
+      return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    } catch (IllegalAccessException ex) {
+      throw new IllegalStateException("Unable to access " + type, ex);
+    }
+  }
+
+  private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+    try {
+      return lookup.unreflect(method);
+    } catch (IllegalAccessException ex) {
+      throw new IllegalStateException("Unable to access " + method, ex);
+    }
+  }
+
+  private record Property<T>(String name,
+                             Function<T, Object> getter,
+                             BiConsumer<T, Object> setter) {
+  }
+
+}
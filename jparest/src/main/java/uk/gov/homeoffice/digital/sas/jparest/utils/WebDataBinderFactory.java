@@ -12,6 +12,13 @@ import org.springframework.web.bind.WebDataBinder;
 import uk.gov.homeoffice.digital.sas.jparest.editor.CustomInstantEditor;
 import uk.gov.homeoffice.digital.sas.jparest.editor.LocalDateEditor;
 
+/**
+ * Provides a shared {@link WebDataBinder} with editors for dates, instants and local dates.
+ *
+ * @deprecated the binder's property editors are stateful and not safe to share between
+ *     threads. Convert literals with {@link LiteralConverters#forType(Class)} instead.
+ */
+@Deprecated
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class WebDataBinderFactory {
 
@@ -1,17 +1,25 @@
 package uk.gov.homeoffice.digital.sas.jparest.validation;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toCollection;
-
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.NoProviderFoundException;
+import jakarta.validation.Path;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import jakarta.validation.metadata.BeanDescriptor;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import org.hibernate.validator.engine.HibernateConstraintViolation;
 import org.springframework.stereotype.Component;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
@@ -21,9 +29,31 @@ import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
 public class EntityValidator {
 
   private static final Logger LOGGER = Logger.getLogger(EntityValidator.class.getName());
+
+  /**
+   * The smallest number of objects {@link #validateAll(List)} validates on each thread.
+   */
+  public static final int MIN_OBJECTS_PER_THREAD = 32;
+
   private Validator validator = null;
+  private final Executor executor;
+  private final int parallelism;
+  private final Map<Class<?>, ValidationDescriptor> descriptors = new ConcurrentHashMap<>();
 
   public EntityValidator() {
+    this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+  }
+
+  /**
+   * Creates a validator that spreads the validation of large collections across
+   * the executor.
+   *
+   * @param executor    The executor collections are validated on
+   * @param parallelism The most threads of the executor used to validate a collection
+   */
+  public EntityValidator(Executor executor, int parallelism) {
+    this.executor = executor;
+    this.parallelism = Math.max(1, parallelism);
     try {
       var factory = Validation.buildDefaultValidatorFactory();
       if (factory != null) {
@@ -35,35 +65,196 @@ public class EntityValidator {
   }
 
   public void validateAndThrowIfErrorsExist(Object objectToValidate) {
-    if (this.validator != null) {
-      var constraintViolations = this.validator.validate(objectToValidate);
+    var errors = getErrors(objectToValidate);
+    if (!errors.isEmpty()) {
+      throw new ResourceConstraintViolationException(errors);
+    }
+  }
+
+  /**
+   * Validates the object and returns an error for each invalid property.
+   *
+   * @param objectToValidate The object to validate
+   * @return the errors, or an empty list if the object is valid
+   */
+  public List<StructuredError> getErrors(Object objectToValidate) {
+    return getErrors(objectToValidate, "");
+  }
+
+  /**
+   * Validates every object and returns the errors of all of them. Large collections
+   * are split into contiguous ranges that are validated in parallel on the executor.
+   *
+   * @param objectsToValidate The objects to validate
+   * @return the errors in the order of the objects, the field of each error is
+   *     prefixed with the index of its object, or an empty list if they are all valid
+   */
+  public List<StructuredError> validateAll(List<?> objectsToValidate) {
+    if (this.validator == null || objectsToValidate.isEmpty()) {
+      return List.of();
+    }
+
+    var size = objectsToValidate.size();
+    var threads = Math.min(parallelism, size / MIN_OBJECTS_PER_THREAD);
+    if (threads <= 1) {
+      return getErrors(objectsToValidate, 0, size);
+    }
+
+    var rangeSize = (size + threads - 1) / threads;
+    var ranges = new ArrayList<CompletableFuture<List<StructuredError>>>(threads);
+    for (var from = rangeSize; from < size; from += rangeSize) {
+      var start = from;
+      var end = Math.min(from + rangeSize, size);
+      ranges.add(CompletableFuture.supplyAsync(
+          () -> getErrors(objectsToValidate, start, end), executor));
+    }
+
+    // The first range is validated on the calling thread
+    var errors = new ArrayList<>(getErrors(objectsToValidate, 0, rangeSize));
+    for (var range : ranges) {
+      try {
+        errors.addAll(range.join());
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw ex;
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * Validates every object and throws if any of them are invalid.
+   *
+   * @param objectsToValidate The objects to validate
+   * @throws ResourceConstraintViolationException listing the errors of every invalid
+   *     object, the field of each error is prefixed with the index of its object
+   */
+  public void validateAllAndThrowIfErrorsExist(List<?> objectsToValidate) {
+    var errors = validateAll(objectsToValidate);
+    if (!errors.isEmpty()) {
+      throw new ResourceConstraintViolationException(errors);
+    }
+  }
+
+  /**
+   * Validates only the given properties of the object and throws if any are invalid.
+   * Constraints on the class, or on other properties, are not checked.
+   *
+   * @param objectToValidate The object to validate
+   * @param propertyNames    The names of the properties to validate
+   */
+  public void validatePropertiesAndThrowIfErrorsExist(Object objectToValidate,
+                                                      Collection<String> propertyNames) {
+    if (isConstrained(objectToValidate)) {
+      var constrainedProperties = getDescriptor(objectToValidate).constrainedProperties();
+      var constraintViolations = new HashSet<ConstraintViolation<Object>>();
+      for (var propertyName : propertyNames) {
+        if (constrainedProperties.contains(propertyName)) {
+          constraintViolations.addAll(
+              this.validator.validateProperty(objectToValidate, propertyName));
+        }
+      }
 
       if (!constraintViolations.isEmpty()) {
         throw new ResourceConstraintViolationException(
-            createStructuredErrors(constraintViolations));
+            createStructuredErrors(constraintViolations, ""));
       }
     }
   }
 
-  private static ArrayList<StructuredError> createStructuredErrors(
-          Set<ConstraintViolation<Object>> constraintViolations) {
-
-    var constraintViolation = constraintViolations.iterator().next();
-    var hibernateConstraintViolation = constraintViolation.unwrap(
-        HibernateConstraintViolation.class
-    );
-
-    return constraintViolations.stream()
-            .collect(groupingBy(ConstraintViolation::getPropertyPath))
-            .entrySet().stream()
-            .map(entry -> {
-              var propertyErrors = entry.getValue().stream()
-                      .map(ConstraintViolation::getMessage)
-                      .collect(Collectors.joining(", "));
-
-              return new StructuredError(entry.getKey().toString(),
-                  propertyErrors,
-                  hibernateConstraintViolation.getDynamicPayload(ArrayList.class));
-            }).collect(toCollection(ArrayList::new));
+  private List<StructuredError> getErrors(List<?> objectsToValidate, int from, int to) {
+    var errors = new ArrayList<StructuredError>();
+    for (var i = from; i < to; i++) {
+      errors.addAll(getErrors(objectsToValidate.get(i), "[" + i + "]"));
+    }
+    return errors;
+  }
+
+  private List<StructuredError> getErrors(Object objectToValidate, String fieldPrefix) {
+    if (isConstrained(objectToValidate)) {
+      var constraintViolations = this.validator.validate(objectToValidate);
+
+      if (!constraintViolations.isEmpty()) {
+        return createStructuredErrors(constraintViolations, fieldPrefix);
+      }
+    }
+    return List.of();
+  }
+
+  /**
+   * Whether the object has any constraints to check. Types without constraints
+   * skip the validator entirely.
+   */
+  private boolean isConstrained(Object objectToValidate) {
+    // The validator reports null objects itself
+    return this.validator != null
+        && (objectToValidate == null || getDescriptor(objectToValidate).constrained());
+  }
+
+  private ValidationDescriptor getDescriptor(Object objectToValidate) {
+    return descriptors.computeIfAbsent(objectToValidate.getClass(),
+        type -> ValidationDescriptor.of(validator.getConstraintsForClass(type)));
+  }
+
+  /**
+   * Creates an error for each invalid property with the messages of all of its
+   * violations. The dynamic payload of the first violation is the data of every error.
+   */
+  private static List<StructuredError> createStructuredErrors(
+      Set<? extends ConstraintViolation<?>> constraintViolations, String fieldPrefix) {
+
+    var data = constraintViolations.iterator().next()
+        .unwrap(HibernateConstraintViolation.class)
+        .getDynamicPayload(ArrayList.class);
+
+    var messages = new LinkedHashMap<Path, StringBuilder>();
+    for (var constraintViolation : constraintViolations) {
+      var message = messages.get(constraintViolation.getPropertyPath());
+      if (message == null) {
+        messages.put(constraintViolation.getPropertyPath(),
+            new StringBuilder(constraintViolation.getMessage()));
+      } else {
+        message.append(", ").append(constraintViolation.getMessage());
+      }
+    }
+
+    var errors = new ArrayList<StructuredError>(messages.size());
+    for (var entry : messages.entrySet()) {
+      errors.add(new StructuredError(
+          getField(fieldPrefix, entry.getKey().toString()), entry.getValue().toString(), data));
+    }
+    return errors;
+  }
+
+  /**
+   * Returns the property path after the prefix. A violation of a class level
+   * constraint has an empty path and is reported against the prefix alone.
+   */
+  private static String getField(String fieldPrefix, String propertyPath) {
+    if (fieldPrefix.isEmpty() || propertyPath.isEmpty()) {
+      return fieldPrefix + propertyPath;
+    }
+    return fieldPrefix + "." + propertyPath;
+  }
+
+  /**
+   * The constraint metadata of a type, read once from its {@link BeanDescriptor}.
+   *
+   * @param constrained           Whether the type has any constraints, including cascades
+   * @param constrainedProperties The names of the properties that have constraints
+   *                              or are cascaded
+   */
+  private record ValidationDescriptor(boolean constrained, Set<String> constrainedProperties) {
+
+    static ValidationDescriptor of(BeanDescriptor beanDescriptor) {
+      var constrainedProperties = new HashSet<String>();
+      for (var property : beanDescriptor.getConstrainedProperties()) {
+        constrainedProperties.add(property.getPropertyName());
+      }
+      return new ValidationDescriptor(
+          beanDescriptor.isBeanConstrained(), Set.copyOf(constrainedProperties));
+    }
   }
 }
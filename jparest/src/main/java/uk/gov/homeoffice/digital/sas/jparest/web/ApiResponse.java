@@ -1,8 +1,12 @@
 package uk.gov.homeoffice.digital.sas.jparest.web;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import lombok.Getter;
+import lombok.Setter;
 import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 
 /**
@@ -12,6 +16,9 @@ public class ApiResponse<T> {
 
   public class Metadata {
     private URL next;
+    private String nextCursor;
+    private Long totalCount;
+    private Boolean totalCountExact;
 
     public URL getNext() {
       return this.next;
@@ -21,6 +28,30 @@ public class ApiResponse<T> {
       this.next = next;
     }
 
+    public String getNextCursor() {
+      return this.nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+      this.nextCursor = nextCursor;
+    }
+
+    public Long getTotalCount() {
+      return this.totalCount;
+    }
+
+    public void setTotalCount(Long totalCount) {
+      this.totalCount = totalCount;
+    }
+
+    public Boolean getTotalCountExact() {
+      return this.totalCountExact;
+    }
+
+    public void setTotalCountExact(Boolean totalCountExact) {
+      this.totalCountExact = totalCountExact;
+    }
+
   }
 
   @Getter
@@ -29,6 +60,16 @@ public class ApiResponse<T> {
   @Getter
   private final List<T> items;
 
+  /**
+   * The resources related to the items through each relation that was included,
+   * keyed by the relation and then by the id of the item. It is only written when
+   * relations were included.
+   */
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Map<String, Map<UUID, List<Object>>> included;
+
   public ApiResponse(List<T> items) {
     this.items = items;
   }
@@ -0,0 +1,71 @@
+package uk.gov.homeoffice.digital.sas.jparest.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Writes {@link ApiResponse} bodies with the jparest ObjectMapper. When the request has the
+ * {@link #CONTENT_ETAG_ATTRIBUTE} attribute the body is serialized once and the ETag is the
+ * MD5 hash of the bytes written, in the same way as
+ * {@link org.springframework.web.filter.ShallowEtagHeaderFilter}.
+ */
+public class ApiResponseHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  /**
+   * The request attribute that asks for the response to have a content ETag.
+   */
+  public static final String CONTENT_ETAG_ATTRIBUTE =
+      ApiResponseHttpMessageConverter.class.getName() + ".CONTENT_ETAG";
+
+  public ApiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  /**
+   * Returns the strong ETag of a serialized body.
+   */
+  public static String getContentEtag(byte[] body) {
+    return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+    return ApiResponse.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    if (!isContentEtagRequested()) {
+      super.writeInternal(object, type, outputMessage);
+      return;
+    }
+    byte[] body = getObjectMapper().writeValueAsBytes(object);
+    outputMessage.getHeaders().setETag(getContentEtag(body));
+    outputMessage.getHeaders().setContentLength(body.length);
+    outputMessage.getBody().write(body);
+  }
+
+  private static boolean isContentEtagRequested() {
+    var attributes = RequestContextHolder.getRequestAttributes();
+    return attributes != null && attributes.getAttribute(
+        CONTENT_ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+  }
+}
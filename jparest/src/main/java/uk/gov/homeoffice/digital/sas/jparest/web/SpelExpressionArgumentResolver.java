@@ -1,9 +1,12 @@
 package uk.gov.homeoffice.digital.sas.jparest.web;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.MethodParameter;
 import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -11,11 +14,57 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.InvalidFilterException;
+import uk.gov.homeoffice.digital.sas.jparest.utils.CacheStatistics;
+import uk.gov.homeoffice.digital.sas.jparest.utils.LruCache;
 
+/**
+ * Resolves SpelExpression arguments from the request parameter of the same name.
+ *
+ * <p>Parsed expressions are cached by their filter text in a least recently
+ * used cache bounded by the number of entries and the total length of the
+ * cached filters. Filters longer than the maximum length, or nested deeper
+ * than the maximum depth, are rejected. Parentheses are counted before the
+ * filter reaches the parser, and the operators and method calls nested within
+ * each other are counted on the parsed expression, so a long chain of
+ * {@code and} or {@code or} without parentheses is rejected as well.
+ */
 public class SpelExpressionArgumentResolver implements HandlerMethodArgumentResolver {
 
+  public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 1024;
+  public static final long DEFAULT_CACHE_MAXIMUM_LENGTH = 1024L * 1024L;
+  public static final int DEFAULT_MAXIMUM_FILTER_LENGTH = 8192;
+  public static final int DEFAULT_MAXIMUM_FILTER_DEPTH = 32;
+
   SpelExpressionParser expressionParser = new SpelExpressionParser();
 
+  private final LruCache<String, SpelExpression> expressionCache;
+  private final int maximumFilterLength;
+  private final int maximumFilterDepth;
+
+  public SpelExpressionArgumentResolver() {
+    this(DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_MAXIMUM_LENGTH,
+        DEFAULT_MAXIMUM_FILTER_LENGTH, DEFAULT_MAXIMUM_FILTER_DEPTH);
+  }
+
+  /**
+   * Creates a resolver with the given cache and filter limits.
+   *
+   * @param cacheMaximumSize    the maximum number of parsed expressions to cache
+   * @param cacheMaximumLength  the maximum total length of the cached filters
+   * @param maximumFilterLength the maximum length of a filter
+   * @param maximumFilterDepth  the maximum nesting depth of parentheses, operators and
+   *                            method calls in a filter
+   */
+  public SpelExpressionArgumentResolver(int cacheMaximumSize,
+                                        long cacheMaximumLength,
+                                        int maximumFilterLength,
+                                        int maximumFilterDepth) {
+    this.expressionCache = new LruCache<>(cacheMaximumSize, cacheMaximumLength, String::length);
+    this.maximumFilterLength = maximumFilterLength;
+    this.maximumFilterDepth = maximumFilterDepth;
+  }
+
   @Override
   public boolean supportsParameter(MethodParameter parameter) {
     return SpelExpression.class.isAssignableFrom(parameter.getParameterType());
@@ -31,7 +80,7 @@ public class SpelExpressionArgumentResolver implements HandlerMethodArgumentReso
 
     if (!StringUtils.isBlank(paramValue)) {
       try {
-        return expressionParser.parseExpression(paramValue);
+        return expressionCache.computeIfAbsent(paramValue, this::parseExpression);
       } catch (ParseException ex) {
         throw new MethodArgumentTypeMismatchException(
           paramValue, parameter.getParameterType(), parameterName, parameter, ex.getCause());
@@ -40,4 +89,77 @@ public class SpelExpressionArgumentResolver implements HandlerMethodArgumentReso
     return null;
   }
 
+  public CacheStatistics getCacheStatistics() {
+    return expressionCache.getStatistics();
+  }
+
+  private SpelExpression parseExpression(String filter) {
+    if (filter.length() > maximumFilterLength) {
+      throw new InvalidFilterException(String.format(
+          "Filter exceeds the maximum length of %d characters", maximumFilterLength));
+    }
+    if (getNestingDepth(filter) > maximumFilterDepth) {
+      throw invalidDepth();
+    }
+    var expression = (SpelExpression) expressionParser.parseExpression(filter);
+    if (getNestingDepth(expression.getAST()) > maximumFilterDepth) {
+      throw invalidDepth();
+    }
+    return expression;
+  }
+
+  private InvalidFilterException invalidDepth() {
+    return new InvalidFilterException(String.format(
+        "Filter exceeds the maximum nesting depth of %d", maximumFilterDepth));
+  }
+
+  /**
+   * Returns the deepest nesting of nodes with operands, such as operators and method
+   * calls, in the parsed expression. The tree is walked without recursion as the
+   * operands of a chain of operators are nested one level deeper for each operator.
+   */
+  private static int getNestingDepth(SpelNode root) {
+    int maximumDepth = 0;
+    Deque<SpelNode> nodes = new ArrayDeque<>();
+    Deque<Integer> depths = new ArrayDeque<>();
+    nodes.push(root);
+    depths.push(0);
+    while (!nodes.isEmpty()) {
+      var node = nodes.pop();
+      int depth = depths.pop();
+      if (node.getChildCount() > 0) {
+        maximumDepth = Math.max(maximumDepth, ++depth);
+        for (int i = 0; i < node.getChildCount(); i++) {
+          nodes.push(node.getChild(i));
+          depths.push(depth);
+        }
+      }
+    }
+    return maximumDepth;
+  }
+
+  /**
+   * Returns the deepest nesting of parentheses outside of quoted literals.
+   */
+  private static int getNestingDepth(String filter) {
+    int depth = 0;
+    int maximumDepth = 0;
+    char quote = 0;
+    for (int i = 0; i < filter.length(); i++) {
+      char c = filter.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '(') {
+        maximumDepth = Math.max(maximumDepth, ++depth);
+      } else if (c == ')') {
+        depth--;
+      }
+    }
+    return maximumDepth;
+  }
+
 }
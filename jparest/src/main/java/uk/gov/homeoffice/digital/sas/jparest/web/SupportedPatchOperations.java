@@ -2,6 +2,8 @@ package uk.gov.homeoffice.digital.sas.jparest.web;
 
 public enum SupportedPatchOperations {
 
+  ADD("add"),
+  REMOVE("remove"),
   REPLACE("replace");
 
   private final String stringValue;
@@ -239,6 +239,53 @@ class SpelExpressionToPredicateConverterTest {
             .withMessage("Left hand side must be a field");
     }
 
+    @Test
+    void compile_sameFilterWithDifferentWhitespace_returnsCachedPlan() {
+        var plan = SpelExpressionToPredicateConverter.compile(expressionParser.parseRaw("index==1L and profileId>2L"), root);
+        var before = SpelExpressionToPredicateConverter.getPlanCacheStatistics();
+
+        var cachedPlan = SpelExpressionToPredicateConverter.compile(expressionParser.parseRaw("index == 1L  and profileId > 2L"), root);
+        var after = SpelExpressionToPredicateConverter.getPlanCacheStatistics();
+
+        assertThat(cachedPlan).isSameAs(plan);
+        assertThat(after.getHitCount()).isEqualTo(before.getHitCount() + 1);
+        assertThat(after.getMissCount()).isEqualTo(before.getMissCount());
+    }
+
+    @Test
+    void compile_sameFilterForDifferentEntityType_returnsDifferentPlan() {
+        var expression = expressionParser.parseRaw("index==1L");
+        var rootC = builder.createQuery(DummyEntityC.class).from(DummyEntityC.class);
+
+        var plan = SpelExpressionToPredicateConverter.compile(expression, root);
+        var planC = SpelExpressionToPredicateConverter.compile(expression, rootC);
+
+        assertThat(planC).isNotSameAs(plan);
+    }
+
+    @Test
+    void convert_cachedPlan_bindsToNewRoot() {
+        var expression = expressionParser.parseRaw("between(index, 1L, 4L)");
+        SpelExpressionToPredicateConverter.convert(expression, builder, root);
+
+        var newRoot = builder.createQuery(DummyEntityA.class).from(DummyEntityA.class);
+        var predicate = SpelExpressionToPredicateConverter.convert(expression, builder, newRoot);
+
+        assertThat(predicate).isNotNull();
+        assertThat(SpelExpressionToPredicateConverter.compile(expression, newRoot))
+            .isSameAs(SpelExpressionToPredicateConverter.compile(expression, root));
+    }
+
+    @Test
+    void compile_invalidFilter_planIsNotCached() {
+        var expression = expressionParser.parseRaw("1==profileId");
+        var sizeBefore = SpelExpressionToPredicateConverter.getPlanCacheStatistics().getSize();
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+            .isThrownBy(() -> SpelExpressionToPredicateConverter.compile(expression, root));
+        assertThat(SpelExpressionToPredicateConverter.getPlanCacheStatistics().getSize()).isEqualTo(sizeBefore);
+    }
+
     private SpelExpression parseExpression(String expression) {
         return expressionParser.parseRaw(String.format(expression, 1L));
     }
@@ -10,6 +10,7 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import uk.gov.homeoffice.digital.sas.jparest.web.ApiResponseHttpMessageConverter;
 import uk.gov.homeoffice.digital.sas.jparest.web.SpelExpressionArgumentResolver;
 
 import java.util.ArrayList;
@@ -44,14 +45,22 @@ class JpaRestMvcConfigTest {
 
     @Test
     void extendMessageConverters_shouldCallRegisterObjectMappersForType() {
-        List<HttpMessageConverter<?>> converters = List.of(messageConverter);
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(messageConverter));
         jpaRestMvcConfig.extendMessageConverters(converters);
         verify(messageConverter, times(1)).registerObjectMappersForType(any(), any());
     }
 
+    @Test
+    void extendMessageConverters_apiResponseConverterAddedFirst() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(messageConverter));
+        jpaRestMvcConfig.extendMessageConverters(converters);
+        assertThat(converters).hasSize(2);
+        assertThat(converters.get(0)).isInstanceOf(ApiResponseHttpMessageConverter.class);
+    }
+
     @Test
     void extendMessageConverters_converterTypeNotApplicable_objectMappersNotRegistered() {
-        List<HttpMessageConverter<?>> converters = List.of(mappingJackson2SmileHttpMessageConverter);
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(mappingJackson2SmileHttpMessageConverter));
         jpaRestMvcConfig.extendMessageConverters(converters);
         verifyNoInteractions(messageConverter);
     }
@@ -0,0 +1,66 @@
+package uk.gov.homeoffice.digital.sas.jparest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadOnlyRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @AfterEach
+    void resetReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_readOnlyTransaction_replicaConnectionReturned() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        var dataSource = new ReadOnlyRoutingDataSource(primary, replica);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_notReadOnlyTransaction_primaryConnectionReturned() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        var dataSource = new ReadOnlyRoutingDataSource(primary, replica);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void create_dataSourceCreated_connectionsFetchedLazily() throws SQLException {
+        // The proxy reads the default connection settings from the primary
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(ReadOnlyRoutingDataSource.create(primary, replica))
+                .isInstanceOf(LazyConnectionDataSourceProxy.class);
+    }
+
+}
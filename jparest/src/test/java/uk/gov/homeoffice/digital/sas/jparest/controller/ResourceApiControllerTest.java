@@ -8,8 +8,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.hibernate.SessionFactory;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,11 +21,20 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
 import uk.gov.homeoffice.digital.sas.jparest.config.BaseEntityCheckerServiceTestConfig;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
@@ -31,14 +42,17 @@ import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntit
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityC;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityD;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityF;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityI;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.OperationNotSupportedException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceModifiedException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundExceptionMessageUtil;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.TenantIdMismatchException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.UnknownResourcePropertyException;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursorSigner;
 import uk.gov.homeoffice.digital.sas.jparest.repository.TenantRepositoryImpl;
 import uk.gov.homeoffice.digital.sas.jparest.service.BaseEntityCheckerService;
 import uk.gov.homeoffice.digital.sas.jparest.service.ResourceApiService;
@@ -49,11 +63,16 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import uk.gov.homeoffice.digital.sas.jparest.web.ApiResponseHttpMessageConverter;
 import uk.gov.homeoffice.digital.sas.jparest.web.PatchOperation;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,9 +116,15 @@ class ResourceApiControllerTest {
     public static final UUID DUMMY_B_ID_3 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120003");
     public static final UUID DUMMY_B_ID_4 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120004");
 
+    public static final UUID DUMMY_C_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac130001");
+    public static final UUID DUMMY_C_ID_2 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac130002");
+
+    public static final UUID DUMMY_I_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac150001");
+
     public static final UUID DUMMY_F_ID_1 = UUID.fromString("4424d0e2-e8f2-40b8-a564-f23d67e6f3a1");
 
     private static final UUID TENANT_ID = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120002");
+    private static final KeysetCursorSigner CURSOR_SIGNER = new KeysetCursorSigner("a secret for the tests");
     private static final UUID INVALID_TENANT_ID = UUID.fromString("7a7c7da4-bb29-11ec-1003-0242ac120004");
 
     private static final String ID_FIELD_NAME = "id";
@@ -115,7 +140,7 @@ class ResourceApiControllerTest {
     void list_withoutFilter_returnsAllEntities() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null, null, null, null, null);
 
         assertThat(response).isNotNull();
         assertThat(response.getItems()).hasSize(10);
@@ -126,7 +151,7 @@ class ResourceApiControllerTest {
     void list_withFilter_returnsFilteredEntities(SpelExpression expression, int expectedItems) {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        var response = controller.list(TENANT_ID, Pageable.ofSize(100), expression);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null, null, expression, null, null);
 
         assertThat(response).isNotNull();
         assertThat(response.getItems()).hasSize(expectedItems);
@@ -140,7 +165,7 @@ class ResourceApiControllerTest {
         var sort = Sort.by(Direction.ASC, "id");
         var pageable = PageRequest.ofSize(100).withSort(sort);
 
-        var response = controller.list(TENANT_ID, pageable, null);
+        var response = controller.list(TENANT_ID, pageable, null, null, null, null, null);
         final var items = response.getItems().toArray(new DummyEntityA[0]);
 
         assertThat(items).hasSizeGreaterThanOrEqualTo(2);
@@ -151,7 +176,7 @@ class ResourceApiControllerTest {
         pageable = PageRequest.ofSize(100).withSort(sort);
 
 
-        response = controller.list(TENANT_ID, pageable, null);
+        response = controller.list(TENANT_ID, pageable, null, null, null, null, null);
         final var items2 = response.getItems().toArray(new DummyEntityA[0]);
 
         assertThat(items2).hasSizeGreaterThanOrEqualTo(2);
@@ -163,7 +188,7 @@ class ResourceApiControllerTest {
     void list_resourcesExists_requestTenantIdMatchesResourceTenantIds_resourcesReturned() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null, null, null, null, null);
         assertThat(response).isNotNull();
         assertThat(response.getItems()).isNotEmpty();
 
@@ -174,17 +199,201 @@ class ResourceApiControllerTest {
 
         var controller = getResourceApiController(DummyEntityA.class);
 
-        var response = controller.list(INVALID_TENANT_ID, Pageable.ofSize(100), null);
+        var response = controller.list(INVALID_TENANT_ID, Pageable.ofSize(100), null, null, null, null, null);
         assertThat(response).isNotNull();
         assertThat(response.getItems()).isEmpty();
     }
 
+    @ParameterizedTest
+    @MethodSource("cursorSorts")
+    void list_withCursor_pagesThroughAllEntitiesInSortOrder(Sort sort) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var expected = controller.list(TENANT_ID, PageRequest.ofSize(100).withSort(sort), null, null, null, null, null)
+                .getItems().stream().map(DummyEntityA::getId).toList();
+        assertThat(expected).isNotEmpty();
+
+        var pageable = PageRequest.ofSize(3).withSort(sort);
+        var actual = new ArrayList<UUID>();
+        String cursor = null;
+        do {
+            var response = controller.list(TENANT_ID, pageable, cursor, null, null, null, null);
+            assertThat(response.getItems()).hasSizeLessThanOrEqualTo(3);
+            response.getItems().forEach(item -> actual.add(item.getId()));
+            cursor = response.getMeta().getNextCursor();
+        } while (cursor != null);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void list_pageNotFull_noNextCursorReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(100), null, null, null, null, null);
+
+        assertThat(response.getMeta().getNextCursor()).isNull();
+    }
+
+    @Test
+    void list_cursorIsNotValid_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(3);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.list(TENANT_ID, pageable, "not-a-cursor", null, null, null, null))
+                .withMessage("The supplied cursor is not valid");
+    }
+
+    @Test
+    void list_cursorCreatedWithDifferentSort_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var cursor = controller.list(TENANT_ID, Pageable.ofSize(3), null, null, null, null, null)
+                .getMeta().getNextCursor();
+        var pageable = PageRequest.ofSize(3).withSort(Sort.by(Direction.DESC, INDEX_FIELD_NAME));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.list(TENANT_ID, pageable, cursor, null, null, null, null))
+                .withMessage("The supplied cursor was not created with the requested sort order");
+    }
+
+    @Test
+    void list_pageIsNotLast_nextUrlContainsCursor() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var request = new MockHttpServletRequest("GET", "/resources/dummyEntityAs");
+        request.setQueryString("tenantId=" + TENANT_ID + "&size=3&page=1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            var response = controller.list(TENANT_ID, Pageable.ofSize(3), null, null, null, null, null);
+
+            var next = response.getMeta().getNext();
+            assertThat(next).isNotNull();
+            assertThat(next.getPath()).isEqualTo("/resources/dummyEntityAs");
+            assertThat(next.getQuery())
+                    .contains("tenantId=" + TENANT_ID, "size=3",
+                            "cursor=" + response.getMeta().getNextCursor())
+                    .doesNotContain("page=");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void list_lastPage_noNextUrlOrCursorReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var response = controller.list(TENANT_ID, PageRequest.of(1, 5), null, null, null, null, null);
+
+        assertThat(response.getItems()).hasSize(5);
+        assertThat(response.getMeta().getNext()).isNull();
+        assertThat(response.getMeta().getNextCursor()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"exact", "capped", "CAPPED"})
+    void list_countRequested_totalCountReturned(String count) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(3), null, count, null, null, null);
+
+        assertThat(response.getItems()).hasSize(3);
+        assertThat(response.getMeta().getTotalCount()).isEqualTo(10);
+        assertThat(response.getMeta().getTotalCountExact()).isTrue();
+    }
+
+    @Test
+    void list_cappedCountReachesConfiguredLimit_totalCountNotExact() {
+
+        var resourceApiService = new ResourceApiService<>(
+                new EntityUtils<>(DummyEntityA.class, baseEntityCheckerService),
+                new TenantRepositoryImpl<>(DummyEntityA.class, entityManager),
+                entityValidator,
+                new TransactionTemplate(transactionManager),
+                ResourceApiService.DEFAULT_BATCH_SIZE,
+                4L);
+        var controller = new ResourceApiController<>(
+                DummyEntityA.class, resourceApiService, objectMapper, CURSOR_SIGNER);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(3), null, "capped", null, null, null);
+
+        assertThat(response.getMeta().getTotalCount()).isEqualTo(4);
+        assertThat(response.getMeta().getTotalCountExact()).isFalse();
+    }
+
+    @Test
+    void list_countRequestedWithCursorAndFilter_totalCountOfFilteredResourcesReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var filter = new SpelExpressionParser().parseRaw(INDEX_FIELD_NAME + ">2");
+        var cursor = controller.list(TENANT_ID, Pageable.ofSize(3), null, null, filter, null, null)
+                .getMeta().getNextCursor();
+
+        var response = controller.list(TENANT_ID, Pageable.ofSize(3), cursor, "exact", filter, null, null);
+
+        assertThat(response.getMeta().getTotalCount()).isEqualTo(8);
+    }
+
+    @Test
+    void list_countNotRequested_noTotalCountReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var response = controller.list(TENANT_ID, Pageable.ofSize(3), null, null, null, null, null);
+
+        assertThat(response.getMeta().getTotalCount()).isNull();
+        assertThat(response.getMeta().getTotalCountExact()).isNull();
+    }
+
+    @Test
+    void list_countIsNotValid_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(3);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.list(TENANT_ID, pageable, null, "all", null, null, null))
+                .withMessage("count must be one of exact, capped, none");
+    }
+
+    @Test
+    void stream_resourcesWrittenAsNewlineDelimitedJsonInSortOrder() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var filter = new SpelExpressionParser().parseRaw(INDEX_FIELD_NAME + ">4");
+        var response = controller.stream(TENANT_ID, Sort.by(Direction.DESC, INDEX_FIELD_NAME), filter);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(6);
+        var indexes = new ArrayList<Long>();
+        for (var line : lines) {
+            indexes.add(objectMapper.readValue(line, DummyEntityA.class).getIndex());
+        }
+        assertThat(indexes).containsExactly(10L, 9L, 8L, 7L, 6L, 5L);
+    }
+
+    @Test
+    void stream_requestTenantIdDoesNotMatchResourceTenantIds_nothingWritten() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var response = controller.stream(INVALID_TENANT_ID, Sort.unsorted(), null);
+
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertThat(outputStream.size()).isZero();
+    }
+
     @Test
     void get_resourceWithIdExists_returnsEntity() {
 
         var controller = getResourceApiController(DummyEntityA.class);
 
-        var apiResponse = controller.get(TENANT_ID, DUMMY_A_ID_2);
+        var apiResponse = controller.get(TENANT_ID, DUMMY_A_ID_2, null, null);
         var dummy = apiResponse.getItems().get(0);
 
         assertThat(apiResponse.getItems()).hasSize(1);
@@ -195,14 +404,357 @@ class ResourceApiControllerTest {
     void get_requestTenantIdMatchesResourceTenantId_noExceptionThrown() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_2));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_2, null, null));
     }
 
     @Test
     void get_requestTenantIdDoesNotMatchResourceTenantId_resourceNotFoundExceptionThrown() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(INVALID_TENANT_ID, DUMMY_A_ID_2));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(INVALID_TENANT_ID, DUMMY_A_ID_2, null, null));
+    }
+
+    @Test
+    void getByIds_idsProvided_resourcesOfTenantReturnedInOrderOfIds() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        var response = controller.getByIds(TENANT_ID, List.of(DUMMY_A_ID_10, NON_EXISTENT_ID, DUMMY_A_ID_1, DUMMY_A_ID_2, DUMMY_A_ID_1));
+
+        assertThat(response.getItems()).extracting(BaseEntity::getId)
+                .containsExactly(DUMMY_A_ID_10, DUMMY_A_ID_1, DUMMY_A_ID_2);
+    }
+
+    @Test
+    void getByIds_requestTenantIdDoesNotMatchResourceTenantIds_noResourcesReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        var response = controller.getByIds(INVALID_TENANT_ID, List.of(DUMMY_A_ID_1, DUMMY_A_ID_2));
+
+        assertThat(response.getItems()).isEmpty();
+    }
+
+    @Test
+    void getByIds_moreIdsThanOneStatementAllows_allResourcesReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var ids = new ArrayList<UUID>();
+        for (var i = 0; i < 2500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(DUMMY_A_ID_2);
+        ids.add(0, DUMMY_A_ID_1);
+
+        var response = controller.getByIds(TENANT_ID, ids);
+
+        assertThat(response.getItems()).extracting(BaseEntity::getId).containsExactly(DUMMY_A_ID_1, DUMMY_A_ID_2);
+    }
+
+    @Test
+    void getByIds_noIds_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<UUID> ids = List.of();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.getByIds(TENANT_ID, ids));
+    }
+
+    @Test
+    void get_versionedResource_etagIsVersion() {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var webRequest = createWebRequest(null);
+
+        var apiResponse = controller.get(TENANT_ID, DUMMY_I_ID_1, null, webRequest);
+
+        assertThat(apiResponse.getItems()).hasSize(1);
+        assertThat(webRequest.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"3\"");
+        assertThat(webRequest.getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"3\"", "W/\"3\"", "\"1\", \"3\""})
+    void get_versionedResourceIfNoneMatchMatches_notModified(String ifNoneMatch) {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var webRequest = createWebRequest(ifNoneMatch);
+
+        var apiResponse = controller.get(TENANT_ID, DUMMY_I_ID_1, null, webRequest);
+
+        assertThat(apiResponse).isNull();
+        assertThat(webRequest.getResponse().getStatus()).isEqualTo(304);
+        assertThat(webRequest.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void get_versionedResourceIfNoneMatchIsStale_returnsEntity() {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var webRequest = createWebRequest("\"2\"");
+
+        var apiResponse = controller.get(TENANT_ID, DUMMY_I_ID_1, null, webRequest);
+
+        assertThat(apiResponse.getItems()).hasSize(1);
+        assertThat(webRequest.getResponse().getStatus()).isEqualTo(200);
+        assertThat(webRequest.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void get_versionedResourceDoesNotExist_resourceNotFoundExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var webRequest = createWebRequest("\"3\"");
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> controller.get(TENANT_ID, NON_EXISTENT_ID, null, webRequest));
+    }
+
+    @Test
+    void get_unversionedResourceIfNoneMatchesContentEtag_notModified() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var firstRequest = createWebRequest(null);
+        var etag = writeResponse(controller.get(TENANT_ID, DUMMY_A_ID_2, null, firstRequest), firstRequest);
+
+        var secondRequest = createWebRequest(etag);
+        var apiResponse = controller.get(TENANT_ID, DUMMY_A_ID_2, null, secondRequest);
+
+        assertThat(etag).startsWith("\"");
+        assertThat(apiResponse).isNull();
+        assertThat(secondRequest.getResponse().getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void list_ifNoneMatchesContentEtag_notModified() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var firstRequest = createWebRequest(null);
+        var etag = writeResponse(
+                controller.list(TENANT_ID, Pageable.ofSize(5), null, null, null, null, firstRequest), firstRequest);
+
+        var secondRequest = createWebRequest(etag);
+        var apiResponse = controller.list(TENANT_ID, Pageable.ofSize(5), null, null, null, null, secondRequest);
+        var otherPageRequest = createWebRequest(etag);
+        var otherPage = controller.list(TENANT_ID, PageRequest.of(1, 5), null, null, null, null, otherPageRequest);
+
+        assertThat(apiResponse).isNull();
+        assertThat(secondRequest.getResponse().getStatus()).isEqualTo(304);
+        assertThat(otherPage.getItems()).hasSize(5);
+        assertThat(otherPageRequest.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void list_noIfNoneMatch_etagOfWrittenBytesAdded() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var webRequest = createWebRequest(null);
+
+        var apiResponse = controller.list(TENANT_ID, Pageable.ofSize(5), null, null, null, null, webRequest);
+
+        assertThat(webRequest.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+        var etag = writeResponse(apiResponse, webRequest);
+        var body = ((MockHttpServletResponse) webRequest.getResponse()).getContentAsByteArray();
+        assertThat(etag).isEqualTo("\"0" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    @Test
+    void list_relationIncluded_relatedResourcesOfEachItemIncluded() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = PageRequest.ofSize(10).withSort(Sort.by(INDEX_FIELD_NAME));
+
+        var response = controller.list(TENANT_ID, pageable, null, null, null, DUMMY_B_SET_FIELD_NAME, null);
+
+        assertThat(response.getIncluded()).containsOnlyKeys(DUMMY_B_SET_FIELD_NAME);
+        var included = response.getIncluded().get(DUMMY_B_SET_FIELD_NAME);
+        assertThat(included.keySet()).containsExactlyElementsOf(
+                response.getItems().stream().map(BaseEntity::getId).toList());
+        assertThat(included.get(DUMMY_A_ID_1)).extracting(resource -> ((BaseEntity) resource).getId())
+                .containsExactly(UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120001"), DUMMY_B_ID_2);
+        assertThat(included.get(DUMMY_A_ID_2)).extracting(resource -> ((BaseEntity) resource).getId())
+                .containsExactly(DUMMY_B_ID_2);
+        assertThat(included.get(DUMMY_A_ID_10)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 10})
+    void list_relationIncluded_statementCountDoesNotDependOnPageSize(int pageSize) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var response = controller.list(TENANT_ID, Pageable.ofSize(pageSize), null, null, null, DUMMY_B_SET_FIELD_NAME, null);
+
+        assertThat(response.getItems()).hasSize(pageSize);
+        // One statement reads the page and one reads the related resources of the whole page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void list_relationNotIncluded_includedNotSerialized() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        var response = controller.list(TENANT_ID, Pageable.ofSize(5), null, null, null, null, null);
+
+        assertThat(response.getIncluded()).isNull();
+        assertThat(objectMapper.writeValueAsString(response)).doesNotContain("included");
+    }
+
+    @Test
+    void list_includedRelationDoesNotExist_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.list(TENANT_ID, Pageable.ofSize(5), null, null, null, "unknown", null))
+                .withMessage("Relation 'unknown' does not exist");
+    }
+
+    @Test
+    void get_relationIncluded_relatedResourcesIncluded() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        var response = controller.get(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, null);
+
+        assertThat(response.getItems()).extracting(BaseEntity::getId).containsExactly(DUMMY_A_ID_2);
+        var included = response.getIncluded().get(DUMMY_B_SET_FIELD_NAME);
+        assertThat(included).containsOnlyKeys(DUMMY_A_ID_2);
+        assertThat(included.get(DUMMY_A_ID_2)).extracting(resource -> ((BaseEntity) resource).getId())
+                .containsExactly(DUMMY_B_ID_2);
+    }
+
+    @Test
+    void listFields_fieldsRequested_onlyFieldsIdAndSortPropertiesReturned() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        var pageable = PageRequest.ofSize(100).withSort(Sort.by(INDEX_FIELD_NAME));
+
+        var response = controller.listFields(TENANT_ID, pageable, null, null, " description, dob ", null);
+
+        assertThat(response.getItems()).hasSize(2).first().satisfies(item -> {
+            assertThat(item).containsOnlyKeys(ID_FIELD_NAME, DESCRIPTION_FIELD_NAME, "dob", INDEX_FIELD_NAME);
+            assertThat(item).containsEntry(DESCRIPTION_FIELD_NAME, "Dummy Entity C number 1");
+        });
+    }
+
+    @Test
+    void listFields_withCursor_pagesThroughAllEntities() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = PageRequest.ofSize(3).withSort(Sort.by(Direction.DESC, INDEX_FIELD_NAME));
+        var indexes = new ArrayList<Object>();
+        String cursor = null;
+        do {
+            var response = controller.listFields(TENANT_ID, pageable, cursor, null, PROFILE_ID_FIELD_NAME, null);
+            response.getItems().forEach(item -> indexes.add(item.get(INDEX_FIELD_NAME)));
+            cursor = response.getMeta().getNextCursor();
+        } while (cursor != null);
+
+        assertThat(indexes).containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void listFields_unknownField_unknownResourcePropertyExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(10);
+
+        assertThatExceptionOfType(UnknownResourcePropertyException.class)
+                .isThrownBy(() -> controller.listFields(TENANT_ID, pageable, null, null, "unknown", null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {DUMMY_B_SET_FIELD_NAME, " , "})
+    void listFields_associationOrNoFields_illegalArgumentExceptionThrown(String fields) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(10);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.listFields(TENANT_ID, pageable, null, null, fields, null));
+    }
+
+    @Test
+    void aggregate_groupedAndSortedByAggregate_groupsWithAggregatesReturned() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        var pageable = PageRequest.ofSize(10).withSort(Sort.by(Direction.DESC, "max(index)"));
+
+        var response = controller.aggregate(TENANT_ID, pageable, null, "count, max(index)", DESCRIPTION_FIELD_NAME);
+
+        assertThat(response.getItems()).containsExactly(
+                Map.of(DESCRIPTION_FIELD_NAME, "Dummy Entity C number 2", "count", 1L, "max(index)", 2L),
+                Map.of(DESCRIPTION_FIELD_NAME, "Dummy Entity C number 1", "count", 1L, "max(index)", 1L));
+        assertThat(response.getMeta().getNext()).isNull();
+    }
+
+    @Test
+    void aggregate_unknownGroupByProperty_unknownResourcePropertyExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(10);
+
+        assertThatExceptionOfType(UnknownResourcePropertyException.class)
+                .isThrownBy(() -> controller.aggregate(TENANT_ID, pageable, null, "count", "unknown"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"median(index)", " , "})
+    void aggregate_invalidOrNoAggregates_illegalArgumentExceptionThrown(String aggregate) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = Pageable.ofSize(10);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> controller.aggregate(TENANT_ID, pageable, null, aggregate, null));
+    }
+
+    @Test
+    void getFields_resourceExists_onlyFieldsAndIdReturned() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        var response = controller.getFields(TENANT_ID, DUMMY_C_ID_1, DESCRIPTION_FIELD_NAME);
+
+        assertThat(response.getItems()).singleElement().isEqualTo(Map.of(
+                ID_FIELD_NAME, DUMMY_C_ID_1,
+                DESCRIPTION_FIELD_NAME, "Dummy Entity C number 1"));
+    }
+
+    @Test
+    void getFields_requestTenantIdDoesNotMatchResourceTenantId_resourceNotFoundExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> controller.getFields(INVALID_TENANT_ID, DUMMY_C_ID_1, DESCRIPTION_FIELD_NAME));
+    }
+
+    @Test
+    void getFieldsByIds_idsAndFieldsProvided_onlyFieldsAndIdReturnedInOrderOfIds() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        var response = controller.getFieldsByIds(TENANT_ID,
+                List.of(DUMMY_C_ID_2, NON_EXISTENT_ID, DUMMY_C_ID_1, DUMMY_C_ID_2), DESCRIPTION_FIELD_NAME);
+
+        assertThat(response.getItems()).containsExactly(
+                Map.of(ID_FIELD_NAME, DUMMY_C_ID_2, DESCRIPTION_FIELD_NAME, "Dummy Entity C number 2"),
+                Map.of(ID_FIELD_NAME, DUMMY_C_ID_1, DESCRIPTION_FIELD_NAME, "Dummy Entity C number 1"));
+    }
+
+    @Test
+    void getFieldsByIds_requestTenantIdDoesNotMatchResourceTenantIds_noResourcesReturned() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        var response = controller.getFieldsByIds(INVALID_TENANT_ID, List.of(DUMMY_C_ID_1), DESCRIPTION_FIELD_NAME);
+
+        assertThat(response.getItems()).isEmpty();
     }
 
     // endregion
@@ -221,7 +773,7 @@ class ResourceApiControllerTest {
         assertThat(dummy).isNotNull();
         assertThat(dummy.getId()).isNotNull();
 
-        var getResponse = controller.get(TENANT_ID, dummy.getId());
+        var getResponse = controller.get(TENANT_ID, dummy.getId(), null, null);
         assertThat(getResponse.getItems().get(0)).isEqualTo(dummy);
     }
 
@@ -315,6 +867,65 @@ class ResourceApiControllerTest {
 
     // endregion
 
+    // region createBatch
+
+    @Test
+    @Transactional
+    void createBatch_resourcesAreValid_resourcesArePersistedInOrder() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> body = List.of(
+                Map.of(INDEX_FIELD_NAME, 100),
+                Map.of(INDEX_FIELD_NAME, 101, TENANT_ID_FIELD_NAME, TENANT_ID.toString()),
+                Map.of());
+        var apiResponse = controller.createBatch(TENANT_ID, body);
+
+        assertThat(apiResponse.getItems()).hasSize(3);
+        assertThat(apiResponse.getItems()).extracting(DummyEntityA::getIndex)
+                .containsExactly(100L, 101L, null);
+        assertThat(apiResponse.getItems()).allSatisfy(dummy -> {
+            assertThat(dummy.getId()).isNotNull();
+            assertThat(dummy.getTenantId()).isEqualTo(TENANT_ID);
+            assertThat(controller.get(TENANT_ID, dummy.getId(), null, null).getItems()).hasSize(1);
+        });
+    }
+
+    @Test
+    void createBatch_payloadsAreInvalid_errorsForEachInvalidResourceThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> body = List.of(
+                Map.of(INDEX_FIELD_NAME, 100),
+                Map.of(ID_FIELD_NAME, DUMMY_A_ID_1.toString()),
+                Map.of(TENANT_ID_FIELD_NAME, INVALID_TENANT_ID.toString()),
+                Map.of("otherUnknownProperty", 1));
+        Throwable thrown = catchThrowable(() -> controller.createBatch(TENANT_ID, body));
+
+        assertThat(thrown).isInstanceOf(ResourceConstraintViolationException.class);
+        var errorResponse = ((ResourceConstraintViolationException) thrown).getErrorResponse();
+        assertThat(errorResponse).extracting(StructuredError::getField)
+                .containsExactly("[1]", "[2]", "[3]");
+        assertThat(errorResponse.get(0).getMessage())
+                .isEqualTo("A resource id should not be provided when creating a new resource.");
+        assertThat(errorResponse.get(1).getMessage()).isEqualTo(new TenantIdMismatchException().getMessage());
+        assertThat(errorResponse.get(2).getMessage())
+                .isEqualTo("otherUnknownProperty is an unknown property for the resource entity: DummyEntityA");
+    }
+
+    @Test
+    void createBatch_payloadsViolateEntityConstraints_errorsPrefixedWithIndexThrown() {
+
+        var controller = getResourceApiController(DummyEntityD.class);
+        List<Object> body = List.of(
+                Map.of(DESCRIPTION_FIELD_NAME, "valid", "telephone", "123"),
+                Map.of(DESCRIPTION_FIELD_NAME, "invalid", "telephone", "abc"));
+        Throwable thrown = catchThrowable(() -> controller.createBatch(TENANT_ID, body));
+
+        assertThat(thrown).isInstanceOf(ResourceConstraintViolationException.class);
+        var errorResponse = ((ResourceConstraintViolationException) thrown).getErrorResponse();
+        assertThat(errorResponse).extracting(StructuredError::getField).containsExactly("[1].telephone");
+    }
+
     // region update
 
     @Test
@@ -331,7 +942,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -339,7 +950,7 @@ class ResourceApiControllerTest {
                 DESCRIPTION_FIELD_NAME, "Updated Dummy Entity C",
                 INDEX_FIELD_NAME, 2));
 
-        var updateResponse = controller.update(TENANT_ID, createdResource.getId(), updatedPayload);
+        var updateResponse = controller.update(TENANT_ID, createdResource.getId(), updatedPayload, null);
 
 
         assertThat(updateResponse.getItems()).hasSize(1);
@@ -349,7 +960,7 @@ class ResourceApiControllerTest {
         assertThat(dummy.getIndex()).isEqualTo(2);
         assertThat(dummy.getDescription()).isEqualTo("Updated Dummy Entity C");
 
-        var checkResponse = controller.get(TENANT_ID, createdResource.getId());
+        var checkResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var checkResource = checkResponse.getItems().get(0);
         assertThat(checkResource).isEqualTo(dummy);
     }
@@ -359,7 +970,7 @@ class ResourceApiControllerTest {
     @Transactional
     void update_resourceExistsInvalidPayload_jsonExceptionThrown(String payload) {
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatExceptionOfType(JsonProcessingException.class).isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, payload));
+        assertThatExceptionOfType(JsonProcessingException.class).isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, payload, null));
     }
 
     @ParameterizedTest(name="{0}")
@@ -369,22 +980,22 @@ class ResourceApiControllerTest {
 
         var controller = getResourceApiController(DummyEntityA.class);
 
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, NON_EXISTENT_ID));
-        assertThatExceptionOfType(JsonProcessingException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, payload));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, NON_EXISTENT_ID, null, null));
+        assertThatExceptionOfType(JsonProcessingException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, payload, null));
     }
 
     @ParameterizedTest(name="{0}")
     @MethodSource("invalidProperty")
     void update_unrecognizedPropertyOnPayload_unknownResourcePropertyExceptionThrown(String payload) {
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatExceptionOfType(UnknownResourcePropertyException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, payload));
+        assertThatExceptionOfType(UnknownResourcePropertyException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, payload, null));
     }
 
     @Test
     @Transactional
     void update_resourceDoesntExist_resourceNotFoundExceptionThrown() {
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}"));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}", null));
     }
 
     @Test
@@ -392,7 +1003,7 @@ class ResourceApiControllerTest {
         var controller = getResourceApiController(DummyEntityA.class);
 
         assertThatExceptionOfType(ResourceNotFoundException.class)
-                        .isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}"));
+                        .isThrownBy(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}", null));
 
         assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
     }
@@ -404,7 +1015,7 @@ class ResourceApiControllerTest {
 
         String payload = PayloadCreator.createPayload(ID_FIELD_NAME, DUMMY_A_ID_2);
         assertThatIllegalArgumentException()
-                .isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, payload))
+                .isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, payload, null))
                 .withMessageContaining("payload resource id value must match the url id");
     }
 
@@ -412,13 +1023,13 @@ class ResourceApiControllerTest {
     @Transactional
     void update_payloadOmitsId_noIdMissMatchErrorThrown() {
         var controller = getResourceApiController(DummyEntityA.class);
-        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, "{}"));
+        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, DUMMY_A_ID_1, "{}", null));
     }
 
     @Test
     void update_payloadViolatesEntityConstraints_resourceConstraintViolationExceptionThrown() {
         var controller = getResourceApiController(DummyEntityD.class);
-        Throwable thrown = catchThrowable(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}"));
+        Throwable thrown = catchThrowable(() -> controller.update(TENANT_ID, NON_EXISTENT_ID, "{}", null));
 
         assertThat(thrown).isInstanceOf(ResourceConstraintViolationException.class);
         var errorResponse = ((ResourceConstraintViolationException) thrown).getErrorResponse();
@@ -447,8 +1058,8 @@ class ResourceApiControllerTest {
                 DESCRIPTION_FIELD_NAME, "Updated Dummy Entity C 100",
                 INDEX_FIELD_NAME, 2));
 
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, resource.getId()));
-        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, resource.getId(), updatedPayload));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, resource.getId(), null, null));
+        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, resource.getId(), updatedPayload, null));
     }
 
 
@@ -471,15 +1082,15 @@ class ResourceApiControllerTest {
 
 
         assertThatNoException().isThrownBy(() -> controller.create(TENANT_ID, payload));
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id));
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, id, updatedPayload));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id, null, null));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, id, updatedPayload, null));
     }
 
     @Test
     void update_requestTenantIdDoesNotMatchResourceTenantId_noActiveTransactionFound() {
         var controller = getResourceApiController(DummyEntityA.class);
 
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, DUMMY_A_ID_1, "{}"));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, DUMMY_A_ID_1, "{}", null));
 
         assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
     }
@@ -503,7 +1114,7 @@ class ResourceApiControllerTest {
                 INDEX_FIELD_NAME, 2));
 
         assertThatNoException().isThrownBy(() -> controller.create(TENANT_ID, payload));
-        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, resource.getId(), updatedPayload));
+        assertThatNoException().isThrownBy(() -> controller.update(TENANT_ID, resource.getId(), updatedPayload, null));
     }
 
     @Test
@@ -523,7 +1134,7 @@ class ResourceApiControllerTest {
         var controller = getResourceApiController(DummyEntityC.class);
 
         assertThatNoException().isThrownBy(() -> controller.create(TENANT_ID, payload));
-        assertThatExceptionOfType(TenantIdMismatchException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, NEW_RESOURCE_ID, updatedPayload));
+        assertThatExceptionOfType(TenantIdMismatchException.class).isThrownBy(() -> controller.update(INVALID_TENANT_ID, NEW_RESOURCE_ID, updatedPayload, null));
     }
 
     @Test
@@ -544,7 +1155,7 @@ class ResourceApiControllerTest {
                 INDEX_FIELD_NAME, 2));
 
         assertThatNoException().isThrownBy(() -> controller.create(TENANT_ID, payload));
-        var updateResponse = controller.update(TENANT_ID, resource.getId(), updatedPayload);
+        var updateResponse = controller.update(TENANT_ID, resource.getId(), updatedPayload, null);
 
         var dummy = updateResponse.getItems().get(0);
         assertThat(updateResponse.getItems()).hasSize(1);
@@ -572,10 +1183,11 @@ class ResourceApiControllerTest {
         var controller = new ResourceApiController<>(
                 DummyEntityC.class,
                 resourceApiService,
-                objectMapper);
+                objectMapper,
+                CURSOR_SIGNER);
 
         var resource = createResource(controller, payload, TENANT_ID);
-        controller.update(TENANT_ID, resource.getId(), payload);
+        controller.update(TENANT_ID, resource.getId(), payload, null);
 
         ArgumentCaptor<DummyEntityC> payloadCaptor = ArgumentCaptor.forClass(DummyEntityC.class);
         verify(mockedEntityValidator, times(2)).validateAndThrowIfErrorsExist(payloadCaptor.capture());
@@ -583,8 +1195,205 @@ class ResourceApiControllerTest {
         assertThat(payloadCaptor.getAllValues().get(1).getId()).isEqualTo(resource.getId());
     }
 
+    @Test
+    @Transactional
+    void update_ifMatchesVersion_resourceUpdatedAndVersionIncremented() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var payload = PayloadCreator.createPayload(Map.of(DESCRIPTION_FIELD_NAME, "updated", "version", 1));
+
+        var response = controller.update(TENANT_ID, DUMMY_I_ID_1, payload, createConditionalWebRequest("\"3\""));
+
+        assertThat(response.getItems()).singleElement().satisfies(resource -> {
+            assertThat(resource.getDescription()).isEqualTo("updated");
+            assertThat(resource.getVersion()).isEqualTo(4L);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"2\"", "W/\"3\""})
+    @Transactional
+    void update_ifMatchDoesNotMatchVersion_resourceModifiedExceptionThrown(String ifMatch) throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var payload = PayloadCreator.createPayload(Map.of(DESCRIPTION_FIELD_NAME, "updated"));
+        var webRequest = createConditionalWebRequest(ifMatch);
+
+        assertThatExceptionOfType(ResourceModifiedException.class)
+                .isThrownBy(() -> controller.update(TENANT_ID, DUMMY_I_ID_1, payload, webRequest));
+        assertThat(controller.get(TENANT_ID, DUMMY_I_ID_1, null, null).getItems().get(0).getDescription())
+                .isEqualTo("Dummy Entity I number 1");
+    }
+
+    @Test
+    @Transactional
+    void update_ifMatchesContentOfUnversionedResource_resourceUpdated() throws IOException {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        var getRequest = createWebRequest(null);
+        var etag = writeResponse(controller.get(TENANT_ID, DUMMY_C_ID_1, null, getRequest), getRequest);
+        var payload = PayloadCreator.createPayload(Map.of(DESCRIPTION_FIELD_NAME, "updated", INDEX_FIELD_NAME, 1));
+
+        var response = controller.update(TENANT_ID, DUMMY_C_ID_1, payload, createConditionalWebRequest(etag));
+        var webRequest = createConditionalWebRequest(etag);
+
+        assertThat(response.getItems().get(0).getDescription()).isEqualTo("updated");
+        assertThatExceptionOfType(ResourceModifiedException.class)
+                .isThrownBy(() -> controller.update(TENANT_ID, DUMMY_C_ID_1, payload, webRequest));
+    }
+
     // endregion
 
+    // region mergePatch
+
+    @Test
+    @Transactional
+    void mergePatch_ifMatchDoesNotMatchVersion_resourceModifiedExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+        var webRequest = createConditionalWebRequest("\"2\"");
+
+        assertThatExceptionOfType(ResourceModifiedException.class)
+                .isThrownBy(() -> controller.mergePatch(TENANT_ID, DUMMY_I_ID_1, "{\"description\": \"updated\"}", webRequest));
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_versionInPatch_versionIgnored() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_I_ID_1,
+                "{\"description\": \"updated\", \"version\": 1}", createConditionalWebRequest("\"1\", \"3\""));
+
+        assertThat(response.getItems()).singleElement().satisfies(resource -> {
+            assertThat(resource.getDescription()).isEqualTo("updated");
+            assertThat(resource.getVersion()).isEqualTo(4L);
+        });
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_propertyInPatch_onlyThatPropertyChanged() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, "{\"" + INDEX_FIELD_NAME + "\": 10}", null);
+
+        assertThat(response.getItems()).singleElement().satisfies(resource -> {
+            assertThat(resource.getIndex()).isEqualTo(10L);
+            assertThat(resource.getDescription()).isEqualTo("Dummy Entity C number 1");
+        });
+        var stored = controller.get(TENANT_ID, DUMMY_C_ID_1, null, null).getItems().get(0);
+        assertThat(stored.getIndex()).isEqualTo(10L);
+        assertThat(stored.getDescription()).isEqualTo("Dummy Entity C number 1");
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_nestedObjectInPatch_membersMergedIntoCurrentValue() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_I_ID_1, "{\"address\": {\"postcode\": \"XY9 8ZW\"}}", null);
+
+        assertThat(response.getItems()).singleElement().satisfies(resource -> {
+            assertThat(resource.getAddress().getPostcode()).isEqualTo("XY9 8ZW");
+            assertThat(resource.getAddress().getLine1()).isEqualTo("1 Dummy Street");
+            assertThat(resource.getDescription()).isEqualTo("Dummy Entity I number 1");
+        });
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_nestedMemberIsNullInPatch_memberRemoved() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityI.class);
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_I_ID_1, "{\"address\": {\"line1\": null}}", null);
+
+        assertThat(response.getItems()).singleElement().satisfies(resource -> {
+            assertThat(resource.getAddress().getLine1()).isNull();
+            assertThat(resource.getAddress().getPostcode()).isEqualTo("AB1 2CD");
+        });
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_propertyIsNullInPatch_propertySetToNull() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, "{\"" + DESCRIPTION_FIELD_NAME + "\": null}", null);
+
+        assertThat(response.getItems().get(0).getDescription()).isNull();
+        assertThat(response.getItems().get(0).getIndex()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_matchingIdAndTenantIdInPatch_changesApplied() throws JsonProcessingException {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        String payload = PayloadCreator.createPayload(Map.of(
+                ID_FIELD_NAME, DUMMY_C_ID_1,
+                TENANT_ID_FIELD_NAME, TENANT_ID,
+                INDEX_FIELD_NAME, 10));
+
+        var response = controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, payload, null);
+
+        assertThat(response.getItems().get(0).getIndex()).isEqualTo(10L);
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_idInPatchDoesNotMatchUrlId_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        String payload = PayloadCreator.createPayload(ID_FIELD_NAME, NON_EXISTENT_ID);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, payload, null));
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_tenantIdInPatchDoesNotMatchRequestTenantId_tenantIdMismatchExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        String payload = PayloadCreator.createPayload(TENANT_ID_FIELD_NAME, INVALID_TENANT_ID);
+
+        assertThatExceptionOfType(TenantIdMismatchException.class).isThrownBy(() -> controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, payload, null));
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_resourceOfAnotherTenant_resourceNotFoundExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.mergePatch(INVALID_TENANT_ID, DUMMY_C_ID_1, "{}", null));
+    }
+
+    @Test
+    @Transactional
+    void mergePatch_unrecognizedPropertyInPatch_unknownResourcePropertyExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        assertThatExceptionOfType(UnknownResourcePropertyException.class).isThrownBy(() ->
+                controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, "{\"otherUnknownProperty\": 1}", null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "[]", "1", "{\"index\": \"not a number\"}"})
+    @Transactional
+    void mergePatch_patchIsNotAnObjectOfValidValues_illegalArgumentExceptionThrown(String payload) {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.mergePatch(TENANT_ID, DUMMY_C_ID_1, payload, null));
+    }
+
     // region patch
     @Test
     @Transactional
@@ -606,11 +1415,11 @@ class ResourceApiControllerTest {
         var createdResource2 = apiResponseTwo.getItems().get(0);
 
         //get the newly created resources
-        var getResponseOne = controller.get(TENANT_ID, createdResource.getId());
+        var getResponseOne = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResourceOne = getResponseOne.getItems().get(0);
         assertThat(getResourceOne.getDescription()).isEqualTo("Dummy Entity C One");
 
-        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId());
+        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var getResourceTwo = getResponseTwo.getItems().get(0);
         assertThat(getResourceTwo.getDescription()).isEqualTo("Dummy Entity C Two");
 
@@ -649,11 +1458,11 @@ class ResourceApiControllerTest {
         assertThat(dummyTwo.getIndex()).isEqualTo(3);
         assertThat(dummyTwo.getDescription()).isEqualTo("Updated Dummy Entity C Two");
 
-        var checkResponse = controller.get(TENANT_ID, createdResource.getId());
+        var checkResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var checkResource = checkResponse.getItems().get(0);
         assertThat(checkResource).isEqualTo(dummyOne);
 
-        var checkResponse2 = controller.get(TENANT_ID, createdResource2.getId());
+        var checkResponse2 = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var checkResource2 = checkResponse2.getItems().get(0);
         assertThat(checkResource2).isEqualTo(dummyTwo);
     }
@@ -673,7 +1482,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -713,7 +1522,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -726,6 +1535,123 @@ class ResourceApiControllerTest {
         assertThatExceptionOfType(OperationNotSupportedException.class).isThrownBy(() -> controller.patch(TENANT_ID, updatedPayload));
     }
 
+    @Test
+    @Transactional
+    void patch_removeOperations_resourcesAndJoinTableRowsDeleted() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> payload = List.of(
+                new PatchOperation<>("remove", "/" + DUMMY_A_ID_1, null),
+                new PatchOperation<>("remove", "/" + DUMMY_A_ID_2, null));
+
+        var patchResponse = controller.patch(TENANT_ID, payload);
+
+        assertThat(patchResponse.getItems()).isEmpty();
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_1, null, null));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_2, null, null));
+        assertThat(controller.get(TENANT_ID, DUMMY_A_ID_10, null, null).getItems()).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void patch_removeOperationResourceDoesntExist_resourceNotFoundExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> payload = List.of(
+                new PatchOperation<>("remove", "/" + DUMMY_A_ID_1, null),
+                new PatchOperation<>("remove", "/" + NON_EXISTENT_ID, null));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.patch(TENANT_ID, payload));
+    }
+
+    @Test
+    @Transactional
+    void patch_removeOperationForAnotherTenant_resourceNotFoundExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> payload = List.of(new PatchOperation<>("remove", "/" + DUMMY_A_ID_1, null));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.patch(INVALID_TENANT_ID, payload));
+    }
+
+    @Test
+    @Transactional
+    void patch_removeOperationWithoutPath_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        List<Object> payload = List.of(new PatchOperation<>("remove", null, null));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.patch(TENANT_ID, payload));
+    }
+
+    @Test
+    @Transactional
+    void patch_addOperations_resourcesCreated() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        var resourceOne = new DummyEntityC();
+        resourceOne.setDescription("Added Dummy Entity C One");
+        resourceOne.setIndex(1L);
+        var resourceTwo = new DummyEntityC();
+        resourceTwo.setDescription("Added Dummy Entity C Two");
+        resourceTwo.setIndex(2L);
+        List<Object> payload = List.of(
+                new PatchOperation<>("add", "/-", resourceOne),
+                new PatchOperation<>("add", "/-", resourceTwo));
+
+        var patchResponse = controller.patch(TENANT_ID, payload);
+
+        assertThat(patchResponse.getItems()).extracting(DummyEntityC::getDescription)
+                .containsExactly("Added Dummy Entity C One", "Added Dummy Entity C Two");
+        assertThat(patchResponse.getItems()).allSatisfy(resource -> {
+            assertThat(resource.getTenantId()).isEqualTo(TENANT_ID);
+            assertThat(controller.get(TENANT_ID, resource.getId(), null, null).getItems()).hasSize(1);
+        });
+    }
+
+    @Test
+    @Transactional
+    void patch_addOperationWithId_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        var resource = new DummyEntityC();
+        resource.setId(NEW_RESOURCE_ID);
+        List<Object> payload = List.of(new PatchOperation<>("add", "/-", resource));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.patch(TENANT_ID, payload));
+    }
+
+    @Test
+    @Transactional
+    void patch_addOperationWithoutValue_illegalArgumentExceptionThrown() {
+
+        var controller = getResourceApiController(DummyEntityC.class);
+        List<Object> payload = List.of(new PatchOperation<>("add", "/-", null));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> controller.patch(TENANT_ID, payload));
+    }
+
+    @Test
+    @Transactional
+    void patch_replaceRemoveAndAddOperations_allChangesApplied() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var replaced = new DummyEntityA();
+        replaced.setIndex(99L);
+        var added = new DummyEntityA();
+        added.setIndex(100L);
+        List<Object> payload = List.of(
+                new PatchOperation<>("add", "/-", added),
+                new PatchOperation<>("remove", "/" + DUMMY_A_ID_1, null),
+                new PatchOperation<>("replace", "/" + DUMMY_A_ID_2, replaced));
+
+        var patchResponse = controller.patch(TENANT_ID, payload);
+
+        assertThat(patchResponse.getItems()).extracting(DummyEntityA::getIndex).containsExactly(99L, 100L);
+        assertThat(controller.get(TENANT_ID, DUMMY_A_ID_2, null, null).getItems().get(0).getIndex()).isEqualTo(99L);
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_1, null, null));
+    }
+
     @Test
     @Transactional
     void patch_pathIdDoesNotMatchValueId_illegalArgumentExceptionThrown()
@@ -741,7 +1667,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -769,7 +1695,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -796,7 +1722,7 @@ class ResourceApiControllerTest {
         assertThat(dummyOne.getIndex()).isEqualTo(2);
         assertThat(dummyOne.getDescription()).isEqualTo("Updated Dummy Entity C");
 
-        var checkResponse = controller.get(TENANT_ID, createdResource.getId());
+        var checkResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var checkResource = checkResponse.getItems().get(0);
         assertThat(checkResource).isEqualTo(dummyOne);
     }
@@ -842,11 +1768,11 @@ class ResourceApiControllerTest {
         var createdResource2 = apiResponseTwo.getItems().get(0);
 
         //get the newly created resources
-        var getResponseOne = controller.get(TENANT_ID, createdResource.getId());
+        var getResponseOne = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResourceOne = getResponseOne.getItems().get(0);
         assertThat(getResourceOne.getDescription()).isEqualTo("Dummy Entity C One");
 
-        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId());
+        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var getResourceTwo = getResponseTwo.getItems().get(0);
         assertThat(getResourceTwo.getDescription()).isEqualTo("Dummy Entity C Two");
 
@@ -894,11 +1820,11 @@ class ResourceApiControllerTest {
         var createdResource2 = apiResponseTwo.getItems().get(0);
 
         //get the newly created resources
-        var getResponseOne = controller.get(TENANT_ID, createdResource.getId());
+        var getResponseOne = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResourceOne = getResponseOne.getItems().get(0);
         assertThat(getResourceOne.getDescription()).isEqualTo("Dummy Entity C One");
 
-        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId());
+        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var getResourceTwo = getResponseTwo.getItems().get(0);
         assertThat(getResourceTwo.getDescription()).isEqualTo("Dummy Entity C Two");
 
@@ -945,11 +1871,11 @@ class ResourceApiControllerTest {
         var createdResource2 = apiResponseTwo.getItems().get(0);
 
         //get the newly created resources
-        var getResponseOne = controller.get(TENANT_ID, createdResource.getId());
+        var getResponseOne = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResourceOne = getResponseOne.getItems().get(0);
         assertThat(getResourceOne.getDescription()).isEqualTo("Dummy Entity C One");
 
-        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId());
+        var getResponseTwo = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var getResourceTwo = getResponseTwo.getItems().get(0);
         assertThat(getResourceTwo.getDescription()).isEqualTo("Dummy Entity C Two");
 
@@ -987,11 +1913,11 @@ class ResourceApiControllerTest {
         assertThat(dummyTwo.getIndex()).isEqualTo(2);
         assertThat(dummyTwo.getDescription()).isEqualTo("Updated Dummy Entity C Two");
 
-        var checkResponse = controller.get(TENANT_ID, createdResource.getId());
+        var checkResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var checkResource = checkResponse.getItems().get(0);
         assertThat(checkResource).isEqualTo(dummyOne);
 
-        var checkResponse2 = controller.get(TENANT_ID, createdResource2.getId());
+        var checkResponse2 = controller.get(TENANT_ID, createdResource2.getId(), null, null);
         var checkResource2 = checkResponse2.getItems().get(0);
         assertThat(checkResource2).isEqualTo(dummyTwo);
     }
@@ -1011,7 +1937,7 @@ class ResourceApiControllerTest {
         var createdResource = apiResponse.getItems().get(0);
 
         //get the newly created resource
-        var getResponse = controller.get(TENANT_ID, createdResource.getId());
+        var getResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var getResource = getResponse.getItems().get(0);
         assertThat(getResource.getDescription()).isEqualTo("Dummy Entity C");
 
@@ -1036,7 +1962,7 @@ class ResourceApiControllerTest {
         assertThat(dummyOne.getIndex()).isEqualTo(3);
         assertThat(dummyOne.getDescription()).isNull();
 
-        var checkResponse = controller.get(TENANT_ID, createdResource.getId());
+        var checkResponse = controller.get(TENANT_ID, createdResource.getId(), null, null);
         var checkResource = checkResponse.getItems().get(0);
         assertThat(checkResource).isEqualTo(dummyOne);
     }
@@ -1054,9 +1980,9 @@ class ResourceApiControllerTest {
         var controller = getResourceApiController(DummyEntityC.class);
         var resource = createResource(controller, payload, TENANT_ID);
         UUID id = resource.getId();
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id, null, null));
         assertThatNoException().isThrownBy(() -> controller.delete(TENANT_ID, id));
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, id));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.get(TENANT_ID, id, null, null));
     }
 
     @Test
@@ -1076,7 +2002,7 @@ class ResourceApiControllerTest {
 
         var controller = getResourceApiController(DummyEntityC.class);
         var resource = createResource(controller, payload, TENANT_ID);
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, resource.getId()));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, resource.getId(), null, null));
         assertThatNoException().isThrownBy(() -> controller.delete(TENANT_ID, resource.getId()));
     }
 
@@ -1091,7 +2017,7 @@ class ResourceApiControllerTest {
         UUID id = resource.getId();
 
         assertThatNoException().isThrownBy(() -> controller.create(TENANT_ID, payload));
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, id, null, null));
         assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controller.delete(INVALID_TENANT_ID, id));
     }
 
@@ -1105,13 +2031,13 @@ class ResourceApiControllerTest {
 
         var controller = getResourceApiController(DummyEntityA.class);
 
-        var getRelatedResponse = controller.getRelated(TENANT_ID, DUMMY_A_ID_10, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controller.getRelated(TENANT_ID, DUMMY_A_ID_10, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         assertThat(getRelatedResponse.getItems()).isEmpty();
 
         assertThatNoException()
                 .isThrownBy(() -> controller.addRelated(TENANT_ID, DUMMY_A_ID_10, DUMMY_B_SET_FIELD_NAME, List.of(DUMMY_B_ID_2)));
 
-        getRelatedResponse = controller.getRelated(TENANT_ID, DUMMY_A_ID_10, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        getRelatedResponse = controller.getRelated(TENANT_ID, DUMMY_A_ID_10, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         assertThat(getRelatedResponse.getItems()).hasSize(1);
         var resource = (DummyEntityB) getRelatedResponse.getItems().get(0);
         assertThat(resource.getId()).isEqualTo(DUMMY_B_ID_2);
@@ -1136,7 +2062,7 @@ class ResourceApiControllerTest {
         var controller = getResourceApiController(DummyEntityA.class);
         var relatedIds = List.of(NON_EXISTENT_ID);
 
-        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_1));
+        assertThatNoException().isThrownBy(() -> controller.get(TENANT_ID, DUMMY_A_ID_1, null, null));
 
         assertThatExceptionOfType(ResourceNotFoundException.class)
                 .isThrownBy(() ->  controller.addRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds))
@@ -1206,7 +2132,7 @@ class ResourceApiControllerTest {
 
         var controller = getResourceApiController(DummyEntityA.class);
 
-        var apiResponse = controller.getRelated(TENANT_ID, resourceId, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), expression);
+        var apiResponse = controller.getRelated(TENANT_ID, resourceId, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, expression);
 
         assertThat(apiResponse).isNotNull();
         assertThat(apiResponse.getItems()).hasSize(expectedItems);
@@ -1217,20 +2143,72 @@ class ResourceApiControllerTest {
     void getRelated_relatedResourcesExists_requestTenantIdMatchesParentTenantId_resourcesReturned() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        var response = controller.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var response = controller.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         assertThat(response).isNotNull();
         assertThat(response.getItems()).isNotEmpty();
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"exact", "capped"})
+    void getRelated_countRequested_totalCountOfRelatedResourcesReturned(String count) {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var all = controller.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
+        var response = controller.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(1), null, count, null);
+
+        assertThat(response.getItems()).hasSize(1);
+        assertThat(response.getMeta().getNextCursor()).isNotNull();
+        assertThat(response.getMeta().getTotalCount()).isEqualTo(all.getItems().size());
+        assertThat(response.getMeta().getTotalCountExact()).isTrue();
+    }
+
     @Test
     void getRelated_requestTenantIdDoesNotMatchParentTenantId_noResourcesReturned() {
 
         var controller = getResourceApiController(DummyEntityA.class);
-        var apiResponse = controller.getRelated(INVALID_TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var apiResponse = controller.getRelated(INVALID_TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         assertThat(apiResponse).isNotNull();
         assertThat(apiResponse.getItems()).isEmpty();
     }
 
+    @Test
+    void getRelatedIds_withCursor_pagesThroughIdsOfRelatedResources() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var pageable = PageRequest.ofSize(1).withSort(Sort.by(Direction.DESC, ID_FIELD_NAME));
+        var ids = new ArrayList<UUID>();
+        String cursor = null;
+        do {
+            var response = controller.getRelatedIds(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, pageable, cursor, null, null);
+            ids.addAll(response.getItems());
+            cursor = response.getMeta().getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly(DUMMY_B_ID_2, UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120001"));
+    }
+
+    @Test
+    void getRelatedIds_filterAndCountProvided_filteredIdsAndTotalCountReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+        var filter = new SpelExpressionParser().parseRaw("id == '" + DUMMY_B_ID_2 + "'");
+
+        var response = controller.getRelatedIds(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(10), null, "exact", filter);
+
+        assertThat(response.getItems()).containsExactly(DUMMY_B_ID_2);
+        assertThat(response.getMeta().getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getRelatedIds_requestTenantIdDoesNotMatchParentTenantId_noIdsReturned() {
+
+        var controller = getResourceApiController(DummyEntityA.class);
+
+        var response = controller.getRelatedIds(INVALID_TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(10), null, null, null);
+
+        assertThat(response.getItems()).isEmpty();
+    }
+
     // endregion
 
     // region deleteRelated
@@ -1241,7 +2219,7 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var items = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(items).isNotEmpty()
@@ -1252,13 +2230,13 @@ class ResourceApiControllerTest {
                 () -> controllerA.deleteRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, List.of(DUMMY_B_ID_2 )));
 
 
-        getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var checkItems = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(checkItems).noneMatch((item) -> item.getId().equals(DUMMY_B_ID_2));
 
         var controllerB = getResourceApiController(DummyEntityB.class);
-        assertThatNoException().isThrownBy(() -> controllerB.get(TENANT_ID, DUMMY_B_ID_2));
+        assertThatNoException().isThrownBy(() -> controllerB.get(TENANT_ID, DUMMY_B_ID_2, null, null));
     }
 
     @Test
@@ -1267,7 +2245,7 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controllerA.get(TENANT_ID, NON_EXISTENT_ID));
+        assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> controllerA.get(TENANT_ID, NON_EXISTENT_ID, null, null));
 
         var relatedIds = List.of(DUMMY_B_ID_2);
         assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -1282,10 +2260,10 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        assertThatNoException().isThrownBy(() -> controllerA.get(TENANT_ID, DUMMY_A_ID_1));
+        assertThatNoException().isThrownBy(() -> controllerA.get(TENANT_ID, DUMMY_A_ID_1, null, null));
 
 
-        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var checkItems = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(checkItems).noneMatch((item) -> item.getId().equals(NON_EXISTENT_ID));
@@ -1303,10 +2281,10 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        assertThatNoException().isThrownBy(() -> controllerA.get(TENANT_ID, DUMMY_A_ID_1));
+        assertThatNoException().isThrownBy(() -> controllerA.get(TENANT_ID, DUMMY_A_ID_1, null, null));
 
 
-        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var checkItems = (List<DummyEntityB>) getRelatedResponse.getItems();
 
@@ -1332,7 +2310,7 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var items = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(items).isNotEmpty()
@@ -1341,7 +2319,7 @@ class ResourceApiControllerTest {
         assertThatNoException().isThrownBy(
                 () -> controllerA.deleteRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, List.of(DUMMY_B_ID_2)));
 
-        getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         items = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(items).noneMatch((item) -> item.getId().equals(DUMMY_B_ID_2));
     }
@@ -1352,7 +2330,7 @@ class ResourceApiControllerTest {
 
         var controllerA = getResourceApiController(DummyEntityA.class);
 
-        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null);
+        var getRelatedResponse = controllerA.getRelated(TENANT_ID, DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, Pageable.ofSize(100), null, null, null);
         @SuppressWarnings("unchecked")
         var items = (List<DummyEntityB>) getRelatedResponse.getItems();
         assertThat(items).isNotEmpty()
@@ -1369,6 +2347,14 @@ class ResourceApiControllerTest {
 
     // region Method Sources
 
+    private static Stream<Arguments> cursorSorts() {
+        return Stream.of(
+                Arguments.of(named("unsorted", Sort.unsorted())),
+                Arguments.of(named("index ascending", Sort.by(Direction.ASC, INDEX_FIELD_NAME))),
+                Arguments.of(named("index descending", Sort.by(Direction.DESC, INDEX_FIELD_NAME))),
+                Arguments.of(named("id descending", Sort.by(Direction.DESC, ID_FIELD_NAME))));
+    }
+
     private static Stream<Arguments> filters() {
         SpelExpressionParser expressionParser = new SpelExpressionParser();
 
@@ -1427,7 +2413,37 @@ class ResourceApiControllerTest {
                 entityValidator,
                 new TransactionTemplate(transactionManager));
 
-        return new ResourceApiController<>(clazz, resourceApiService, objectMapper);
+        return new ResourceApiController<>(clazz, resourceApiService, objectMapper, CURSOR_SIGNER);
+    }
+
+    private static ServletWebRequest createConditionalWebRequest(String ifMatch) {
+        var request = new MockHttpServletRequest("PUT", "/");
+        request.addHeader(HttpHeaders.IF_MATCH, ifMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    /**
+     * Writes the response as the dispatcher would and returns its ETag.
+     */
+    private String writeResponse(Object apiResponse, ServletWebRequest webRequest) throws IOException {
+        RequestContextHolder.setRequestAttributes(webRequest);
+        try {
+            var outputMessage = new ServletServerHttpResponse(webRequest.getResponse());
+            new ApiResponseHttpMessageConverter(objectMapper)
+                    .write(apiResponse, MediaType.APPLICATION_JSON, outputMessage);
+            outputMessage.flush();
+            return webRequest.getResponse().getHeader(HttpHeaders.ETAG);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static ServletWebRequest createWebRequest(String ifNoneMatch) {
+        var request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 
     private <T extends BaseEntity> T createResource(ResourceApiController<T> controller,
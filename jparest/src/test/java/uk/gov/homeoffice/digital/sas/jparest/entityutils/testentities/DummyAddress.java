@@ -0,0 +1,20 @@
+package uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.Embeddable;
+
+/**
+ * A dummy embeddable used to test patches of nested objects
+ */
+
+@Embeddable
+@Getter @Setter
+public class DummyAddress {
+
+    private String line1;
+
+    private String postcode;
+
+}
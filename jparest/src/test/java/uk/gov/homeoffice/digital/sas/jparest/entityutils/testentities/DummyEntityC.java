@@ -1,16 +1,21 @@
 package uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 
 import java.time.LocalDate;
 import java.time.Instant;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import uk.gov.homeoffice.digital.sas.jparest.annotation.Resource;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
 
-@Resource
+@Resource(cacheable = true)
 @Entity(name = "dummyEntityC")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class DummyEntityC extends BaseEntity {
 
     @Getter
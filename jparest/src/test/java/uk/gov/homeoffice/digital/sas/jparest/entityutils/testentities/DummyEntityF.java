@@ -7,6 +7,7 @@ import uk.gov.homeoffice.digital.sas.jparest.annotation.Resource;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 
@@ -14,13 +15,13 @@ import jakarta.persistence.OneToOne;
  * A dummy entity used for a table without a primary key, helpful for testing unique scenarios
  */
 
-@Resource(path = "dummy_EntityFs")
+@Resource(path = "dummy_EntityFs", fetchOnGet = "dummyEntityC")
 @Entity(name = "dummy_EntityF")
 @NoArgsConstructor
 @Getter @Setter
 public class DummyEntityF extends BaseEntity {
 
-    @OneToOne(optional=false)
+    @OneToOne(optional=false, fetch = FetchType.LAZY)
     @JoinColumn(name="dummy_entityC_id", unique=true, nullable=false, updatable=false)
     private DummyEntityC dummyEntityC;
 
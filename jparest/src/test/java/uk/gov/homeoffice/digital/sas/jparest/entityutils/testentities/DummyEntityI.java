@@ -0,0 +1,29 @@
+package uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities;
+
+import lombok.Getter;
+import lombok.Setter;
+import uk.gov.homeoffice.digital.sas.jparest.annotation.Resource;
+import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Version;
+
+/**
+ * A dummy entity with a version attribute
+ */
+
+@Resource(path = "dummyEntityIs")
+@Entity(name = "dummyEntityI")
+@Getter @Setter
+public class DummyEntityI extends BaseEntity {
+
+    private String description;
+
+    @Embedded
+    private DummyAddress address;
+
+    @Version
+    private Long version;
+
+}
@@ -0,0 +1,28 @@
+package uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities;
+
+import java.util.List;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderColumn;
+
+import lombok.Getter;
+import lombok.Setter;
+import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+
+/**
+ * A dummy entity with a relation stored with an index
+ */
+@Entity(name = "dummyEntityJ")
+public class DummyEntityJ extends BaseEntity {
+
+    @Getter
+    @Setter
+    @ManyToMany
+    @OrderColumn(name = "list_order")
+    @JoinTable(name = "dummy_EntityJ_dummy_EntityB", joinColumns = @JoinColumn(name = "dummy_EntityJ"), inverseJoinColumns = @JoinColumn(name = "dummy_EntityB"))
+    private List<DummyEntityB> dummyEntityBList;
+
+}
@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.exceptionhandling.ApiErrorResponse;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.exceptionhandling.ApiResponseExceptionHandler;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -42,6 +43,22 @@ class ApiResponseExceptionHandlerTest {
         assertResponseData(response, exception.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void handleResourceModifiedException_preconditionFailedWithErrorDataIsReturned() {
+        var apiResponseExceptionHandler = new ApiResponseExceptionHandler();
+        var exception = new ResourceModifiedException(1);
+        var response = apiResponseExceptionHandler.handleResourceModifiedException(exception);
+        assertResponseData(response, "Resource with id: 1 has been modified", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void handleOptimisticLockException_preconditionFailedWithErrorDataIsReturned() {
+        var apiResponseExceptionHandler = new ApiResponseExceptionHandler();
+        var exception = new OptimisticLockException(ERROR_MESSAGE);
+        var response = apiResponseExceptionHandler.handleOptimisticLockException(exception);
+        assertResponseData(response, "The resource was modified by another request", HttpStatus.PRECONDITION_FAILED);
+    }
+
     @Test
     void handlePersistenceException_internalServerErrorWithErrorDataIsReturned() {
 
@@ -10,6 +10,7 @@ import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.test.context.ContextConfiguration;
 import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
+import uk.gov.homeoffice.digital.sas.jparest.repository.KeysetCursorSigner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,7 +32,7 @@ class ResourceApiControllerFactoryTest {
   @BeforeEach
   void setup() {
     resourceApiControllerFactory = new ResourceApiControllerFactory(
-        objectMapper, context, resourceApiServiceFactory);
+        objectMapper, context, resourceApiServiceFactory, new KeysetCursorSigner("a secret for the tests"));
   }
 
   @Test
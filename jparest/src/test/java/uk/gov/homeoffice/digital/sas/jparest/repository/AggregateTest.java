@@ -0,0 +1,37 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class AggregateTest {
+
+    @Test
+    void parse_count_countOfResourcesReturned() {
+        var aggregate = Aggregate.parse(" count ", UnaryOperator.identity());
+
+        assertThat(aggregate).isEqualTo(new Aggregate(Aggregate.Function.COUNT, null, "count"));
+    }
+
+    @Test
+    void parse_functionOfProperty_propertyMappedAndNamedAfterExpression() {
+        var aggregate = Aggregate.parse("SUM( total_hours )", name -> "totalHours");
+
+        assertThat(aggregate).isEqualTo(
+                new Aggregate(Aggregate.Function.SUM, "totalHours", "sum(total_hours)"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sum", "sum()", "median(index)", "max(index", "count(a, b)", ""})
+    void parse_invalidAggregate_illegalArgumentExceptionThrown(String expression) {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Aggregate.parse(expression, UnaryOperator.identity()))
+                .withMessageContaining("is not a valid aggregate");
+    }
+
+}
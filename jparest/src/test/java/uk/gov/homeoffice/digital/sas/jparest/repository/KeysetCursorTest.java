@@ -0,0 +1,126 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class KeysetCursorTest {
+
+    private static final UUID ID = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110001");
+    private static final KeysetCursorSigner SIGNER =
+            new KeysetCursorSigner("a secret shared by every instance of the application");
+
+    @Test
+    void withTieBreaker_sortDoesNotIncludeId_idAppended() {
+        var sort = KeysetCursor.withTieBreaker(Sort.by(Direction.DESC, "index"));
+
+        assertThat(sort.toList()).containsExactly(
+                Sort.Order.desc("index"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    void withTieBreaker_sortIncludesId_sortUnchanged() {
+        var sort = Sort.by(Direction.DESC, "id");
+
+        assertThat(KeysetCursor.withTieBreaker(sort)).isSameAs(sort);
+    }
+
+    @Test
+    void after_itemIsMap_cursorHasValuesOfMap() {
+        var entity = new DummyEntityA();
+        entity.setId(ID);
+        entity.setIndex(7L);
+
+        var fromMap = KeysetCursor.after(Map.of("id", ID, "index", 7L), Sort.by("index"));
+        var fromEntity = KeysetCursor.after(entity, Sort.by("index"));
+
+        assertThat(fromMap.encode(SIGNER)).isEqualTo(fromEntity.encode(SIGNER));
+    }
+
+    @Test
+    void next_pageHasNext_cursorForLastItemReturned() {
+        var item = new DummyEntityA();
+        item.setId(ID);
+        item.setIndex(7L);
+
+        var page = new SliceImpl<>(List.of(new DummyEntityA(), item), PageRequest.of(0, 2, Sort.by("index")), true);
+        var token = KeysetCursor.next(page, SIGNER);
+        var cursor = KeysetCursor.decode(token, SIGNER);
+
+        assertThat(cursor.getOrders()).containsExactly("index:ASC:NATIVE", "id:ASC:NATIVE");
+        assertThat(cursor.encode(SIGNER)).isEqualTo(token);
+    }
+
+    @Test
+    void next_pageIsLast_nullReturned() {
+        var pageable = PageRequest.ofSize(2);
+        assertThat(KeysetCursor.next(new SliceImpl<>(List.of(new DummyEntityA()), pageable, false), SIGNER)).isNull();
+        assertThat(KeysetCursor.next(new SliceImpl<>(List.<DummyEntityA>of(), pageable, true), SIGNER)).isNull();
+    }
+
+    @Test
+    void decode_noToken_nullReturned() {
+        assertThat(KeysetCursor.decode(null, SIGNER)).isNull();
+        assertThat(KeysetCursor.decode(" ", SIGNER)).isNull();
+    }
+
+    @Test
+    void decode_tokenIsNotValid_illegalArgumentExceptionThrown() {
+        var mismatchedValues = Base64.getUrlEncoder().encodeToString(
+                "{\"o\":[\"id:ASC:NATIVE\"],\"v\":[]}".getBytes());
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeysetCursor.decode("%%%", SIGNER))
+                .withMessage("The supplied cursor is not valid");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeysetCursor.decode(mismatchedValues, SIGNER))
+                .withMessage("The supplied cursor is not valid");
+    }
+
+    @Test
+    void decode_payloadChanged_illegalArgumentExceptionThrown() {
+        var token = KeysetCursor.after(Map.of("id", ID, "index", 7L), Sort.by("index")).encode(SIGNER);
+        var separator = token.lastIndexOf('.');
+        var changedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"o\":[\"index:ASC:NATIVE\",\"id:ASC:NATIVE\"],\"v\":[0,\"" + ID + "\"]}").getBytes());
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeysetCursor.decode(changedPayload + token.substring(separator), SIGNER))
+                .withMessage("The supplied cursor is not valid");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeysetCursor.decode(token.substring(0, separator), SIGNER))
+                .withMessage("The supplied cursor is not valid");
+    }
+
+    @Test
+    void decode_signedWithAnotherSecret_illegalArgumentExceptionThrown() {
+        var token = KeysetCursor.after(Map.of("id", ID, "index", 7L), Sort.by("index")).encode(SIGNER);
+        assertThat(KeysetCursor.decode(token, new KeysetCursorSigner(
+                "a secret shared by every instance of the application")).encode(SIGNER)).isEqualTo(token);
+
+        var otherSigner = new KeysetCursorSigner("the secret of another application");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> KeysetCursor.decode(token, otherSigner))
+                .withMessage("The supplied cursor is not valid");
+    }
+
+    @Test
+    void keysetCursorSigner_secretIsEmpty_illegalArgumentExceptionThrown() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new KeysetCursorSigner(" "))
+                .withMessage("The cursor secret must not be empty");
+    }
+
+}
@@ -0,0 +1,116 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per request cost of the criteria queries the {@link TenantRepositoryImpl}
+ * builds for every lookup by tenant and id, or ids, against JPQL written once with named
+ * parameters, whose interpretation Hibernate caches so each request only binds them.
+ *
+ * <p>A short run against the H2 test database on a shared machine showed no difference
+ * between the two beyond the noise of the run, so the repository keeps building criteria
+ * queries. Rerun it on a quiet machine against the target database before revisiting that.
+ *
+ * <p>Run the main method from the IDE, or from the jparest directory with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.homeoffice.digital.sas.jparest.repository.TenantRepositoryImplBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantRepositoryImplBenchmark {
+
+    private static final UUID TENANT_ID = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120002");
+    private static final UUID DUMMY_A_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110001");
+    private static final List<UUID> DUMMY_A_IDS = List.of(
+            DUMMY_A_ID_1, UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110002"));
+    private static final String FIND_BY_TENANT_ID_AND_ID =
+            "select e from dummyEntityA e where e.tenantId = :tenantId and e.id = :id";
+    private static final String FIND_BY_TENANT_ID_AND_IDS =
+            "select e from dummyEntityA e where e.tenantId = :tenantId and e.id in :ids";
+
+    private ClassPathXmlApplicationContext context;
+    private EntityManager entityManager;
+    private TenantRepositoryImpl<DummyEntityA> repository;
+
+    @Setup
+    public void setup() {
+        context = new ClassPathXmlApplicationContext("test-context.xml");
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        // Keep a single connection for the whole run so only the query is measured
+        entityManager.getTransaction().begin();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<DummyEntityA> findByTenantIdAndId_criteriaQueryPerRequest() {
+        entityManager.clear();
+        return repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1);
+    }
+
+    @Benchmark
+    public Optional<DummyEntityA> findByTenantIdAndId_jpqlTemplate() {
+        entityManager.clear();
+        return entityManager.createQuery(FIND_BY_TENANT_ID_AND_ID, DummyEntityA.class)
+                .setParameter("tenantId", TENANT_ID)
+                .setParameter("id", DUMMY_A_ID_1)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.createEntityGraph(DummyEntityA.class))
+                .getResultList()
+                .stream().findFirst();
+    }
+
+    @Benchmark
+    public List<DummyEntityA> findByTenantIdAndIds_criteriaQueryPerRequest() {
+        entityManager.clear();
+        return repository.findByTenantIdAndIds(TENANT_ID, DUMMY_A_IDS);
+    }
+
+    @Benchmark
+    public List<DummyEntityA> findByTenantIdAndIds_jpqlTemplate() {
+        entityManager.clear();
+        return entityManager.createQuery(FIND_BY_TENANT_ID_AND_IDS, DummyEntityA.class)
+                .setParameter("tenantId", TENANT_ID)
+                .setParameter("ids", DUMMY_A_IDS)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.createEntityGraph(DummyEntityA.class))
+                .getResultList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TenantRepositoryImplBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
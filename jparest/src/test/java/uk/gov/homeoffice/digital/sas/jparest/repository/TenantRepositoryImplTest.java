@@ -0,0 +1,479 @@
+package uk.gov.homeoffice.digital.sas.jparest.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.homeoffice.digital.sas.jparest.config.BaseEntityCheckerServiceTestConfig;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityC;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityF;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityI;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityJ;
+import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+@SpringBootTest
+@ContextConfiguration(locations = "/test-context.xml", classes = BaseEntityCheckerServiceTestConfig.class)
+class TenantRepositoryImplTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120002");
+    private static final UUID DUMMY_A_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110001");
+    private static final UUID DUMMY_A_ID_2 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110002");
+    private static final UUID DUMMY_A_ID_3 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac110003");
+    private static final UUID DUMMY_B_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120001");
+    private static final UUID DUMMY_B_ID_2 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120002");
+    private static final UUID DUMMY_B_ID_3 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac120003");
+    private static final UUID DUMMY_C_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac130001");
+    private static final UUID DUMMY_C_ID_2 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac130002");
+    private static final UUID DUMMY_I_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac150001");
+    private static final UUID DUMMY_J_ID_1 = UUID.fromString("b7e813a2-bb28-11ec-8422-0242ac160001");
+    private static final UUID DUMMY_F_ID_1 = UUID.fromString("4424d0e2-e8f2-40b8-a564-f23d67e6f3a1");
+    private static final String DUMMY_B_SET_FIELD_NAME = "dummyEntityBSet";
+    private static final String DUMMY_C_FIELD_NAME = "dummyEntityC";
+    private static final String DUMMY_B_LIST_FIELD_NAME = "dummyEntityBList";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findByTenantIdAndId_fetchOnGetDeclared_attributesFetched() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityF.class, entityManager);
+
+        var resource = repository.findByTenantIdAndId(TENANT_ID, DUMMY_F_ID_1).orElseThrow();
+
+        assertThat(isLoaded(resource, DUMMY_C_FIELD_NAME)).isTrue();
+    }
+
+    @Test
+    void findByTenantIdAndId_cacheableResourceReadTwice_secondReadServedFromCache() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        readOnly(() -> repository.findByTenantIdAndId(TENANT_ID, DUMMY_C_ID_1).orElseThrow());
+        var queryCacheHits = statistics.getQueryCacheHitCount();
+        var secondLevelCacheHits = statistics.getSecondLevelCacheHitCount();
+        var resource = readOnly(() -> repository.findByTenantIdAndId(TENANT_ID, DUMMY_C_ID_1).orElseThrow());
+
+        assertThat(resource.getId()).isEqualTo(DUMMY_C_ID_1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryCacheHits + 1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(secondLevelCacheHits);
+    }
+
+    @Test
+    void findByTenantIdAndIds_cacheableResourceReadTwice_secondReadServedFromCache() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        readOnly(() -> repository.findByTenantIdAndIds(TENANT_ID, List.of(DUMMY_C_ID_1)));
+        var secondLevelCacheHits = statistics.getSecondLevelCacheHitCount();
+        var resources = readOnly(() -> repository.findByTenantIdAndIds(TENANT_ID, List.of(DUMMY_C_ID_1)));
+
+        assertThat(resources).extracting(BaseEntity::getId).containsExactly(DUMMY_C_ID_1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(secondLevelCacheHits);
+    }
+
+    @Test
+    void findByTenantIdAndIds_cachedResourceOfAnotherTenant_resourceNotReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        readOnly(() -> repository.findByTenantIdAndIds(TENANT_ID, List.of(DUMMY_C_ID_1)));
+
+        var resources = readOnly(() -> repository.findByTenantIdAndIds(UUID.randomUUID(), List.of(DUMMY_C_ID_1)));
+
+        assertThat(resources).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void findByTenantIdAndId_cacheableResourceReadInWriteTransaction_queryNotCached() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        repository.findByTenantIdAndId(TENANT_ID, DUMMY_C_ID_1).orElseThrow();
+
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void findByTenantIdAndId_resourceNotCacheable_queryNotCached() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1).orElseThrow();
+
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+    }
+
+    @Test
+    void findAllByTenantId_attributeNotInFetchOnList_attributeNotFetched() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityF.class, entityManager);
+
+        var resources = repository.findAllByTenantId(TENANT_ID, null, Pageable.ofSize(10), null);
+
+        assertThat(resources.getContent()).isNotEmpty()
+                .allSatisfy(resource -> assertThat(isLoaded(resource, DUMMY_C_FIELD_NAME)).isFalse());
+    }
+
+    @Test
+    void findByTenantIdAndId_relationRequested_relationFetched() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        var withRelation = repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME).orElseThrow();
+        var withoutRelation = repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1).orElseThrow();
+
+        assertThat(isLoaded(withRelation, DUMMY_B_SET_FIELD_NAME)).isTrue();
+        assertThat(isLoaded(withoutRelation, DUMMY_B_SET_FIELD_NAME)).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void persistAllInBatches_moreEntitiesThanBatchSize_entitiesPersistedAndDetached() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var entities = new ArrayList<DummyEntityA>();
+        for (long index = 100; index < 105; index++) {
+            var entity = new DummyEntityA();
+            entity.setTenantId(TENANT_ID);
+            entity.setIndex(index);
+            entities.add(entity);
+        }
+
+        var persisted = repository.persistAllInBatches(entities, 2);
+
+        assertThat(persisted).containsExactlyElementsOf(entities).allSatisfy(entity -> {
+            assertThat(entity.getId()).isNotNull();
+            assertThat(entityManager.contains(entity)).isFalse();
+            assertThat(repository.findByTenantIdAndId(TENANT_ID, entity.getId())).isPresent();
+        });
+    }
+
+    @Test
+    @Transactional
+    void findByTenantIdAndIds_resourceInPersistenceContext_readWithTenantAndSameInstanceReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var loaded = entityManager.find(DummyEntityA.class, DUMMY_A_ID_1);
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var resources = repository.findByTenantIdAndIds(TENANT_ID, List.of(DUMMY_A_ID_1));
+
+        assertThat(resources).singleElement().isSameAs(loaded);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void findByTenantIdAndIds_resourceOfAnotherTenantInPersistenceContext_resourceNotReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        entityManager.find(DummyEntityA.class, DUMMY_A_ID_1);
+
+        var resources = repository.findByTenantIdAndIds(UUID.randomUUID(), List.of(DUMMY_A_ID_1));
+
+        assertThat(resources).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void findByTenantIdAndIds_moreIdsThanOneStatementAllows_resourcesReturnedInOrderOfIds() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var ids = new ArrayList<UUID>();
+        ids.add(DUMMY_A_ID_2);
+        for (var i = 0; i < 1500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(DUMMY_A_ID_1);
+
+        var resources = repository.findByTenantIdAndIds(TENANT_ID, ids);
+
+        assertThat(resources).extracting(DummyEntityA::getId).containsExactly(DUMMY_A_ID_2, DUMMY_A_ID_1);
+    }
+
+    @Test
+    @Transactional
+    void findByTenantIdAndIds_resourceOfAnotherTenant_resourceNotReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        var resources = repository.findByTenantIdAndIds(UUID.randomUUID(), List.of(DUMMY_A_ID_1, DUMMY_A_ID_2));
+
+        assertThat(resources).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void deleteAllByTenantIdAndIds_moreIdsThanOneStatementAllows_matchingResourcesDeleted() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var ids = new ArrayList<UUID>();
+        for (var i = 0; i < 1500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(DUMMY_A_ID_1);
+
+        var deleted = repository.deleteAllByTenantIdAndIds(TENANT_ID, ids);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1)).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void deleteAllByTenantIdAndIds_cachedResourceDeleted_resourceEvictedFromCache() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var cache = entityManager.getEntityManagerFactory().getCache();
+        repository.findByTenantIdAndId(TENANT_ID, DUMMY_C_ID_2).orElseThrow();
+        assertThat(cache.contains(DummyEntityC.class, DUMMY_C_ID_2)).isTrue();
+
+        var deleted = repository.deleteAllByTenantIdAndIds(TENANT_ID, List.of(DUMMY_C_ID_2));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(cache.contains(DummyEntityC.class, DUMMY_C_ID_2)).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void deleteAllByTenantIdAndIds_resourceOfAnotherTenant_resourceNotDeleted() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        var deleted = repository.deleteAllByTenantIdAndIds(UUID.randomUUID(), List.of(DUMMY_A_ID_1));
+
+        assertThat(deleted).isZero();
+        assertThat(repository.findByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1)).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void addRelatedByTenantIdAndId_someIdsAlreadyLinked_onlyMissingLinksInserted() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var relatedIds = List.of(DUMMY_B_ID_1, DUMMY_B_ID_2, DUMMY_B_ID_3);
+
+        var added = repository.addRelatedByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds);
+
+        assertThat(added).isEqualTo(1);
+        assertThat(repository.findRelatedIdsByIdAndRelation(DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds))
+                .containsExactlyInAnyOrderElementsOf(relatedIds);
+    }
+
+    @Test
+    @Transactional
+    void addRelatedByTenantIdAndId_parentOfAnotherTenant_noLinksInserted() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var relatedIds = List.of(DUMMY_B_ID_3);
+
+        var added = repository.addRelatedByTenantIdAndId(UUID.randomUUID(), DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds);
+
+        assertThat(added).isZero();
+        assertThat(repository.findRelatedIdsByIdAndRelation(DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds)).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void addRelatedByTenantIdAndId_relationWithOrderColumn_linksAppendedWithIndex() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityJ.class, entityManager);
+
+        var added = repository.addRelatedByTenantIdAndId(
+                TENANT_ID, DUMMY_J_ID_1, DUMMY_B_LIST_FIELD_NAME, List.of(DUMMY_B_ID_2, DUMMY_B_ID_3));
+
+        assertThat(added).isEqualTo(1);
+        assertThat(findOrderedLinks(DUMMY_J_ID_1))
+                .containsExactly(DUMMY_B_ID_1 + ":0", DUMMY_B_ID_2 + ":1", DUMMY_B_ID_3 + ":2");
+    }
+
+    @Test
+    @Transactional
+    void deleteRelatedByIdAndRelation_relationWithOrderColumn_remainingLinksReindexed() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityJ.class, entityManager);
+
+        var deleted = repository.deleteRelatedByIdAndRelation(
+                DUMMY_J_ID_1, DUMMY_B_LIST_FIELD_NAME, List.of(DUMMY_B_ID_1, DUMMY_B_ID_3));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(findOrderedLinks(DUMMY_J_ID_1)).containsExactly(DUMMY_B_ID_2 + ":0");
+    }
+
+    @Test
+    @Transactional
+    void deleteRelatedByIdAndRelation_linkedAndUnlinkedIds_onlyLinksOfResourceDeleted() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var relatedIds = List.of(DUMMY_B_ID_2, DUMMY_B_ID_3);
+
+        var deleted = repository.deleteRelatedByIdAndRelation(DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, relatedIds);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(repository.findRelatedIdsByIdAndRelation(DUMMY_A_ID_1, DUMMY_B_SET_FIELD_NAME, List.of(DUMMY_B_ID_1, DUMMY_B_ID_2)))
+                .containsExactly(DUMMY_B_ID_1);
+        assertThat(repository.findRelatedIdsByIdAndRelation(DUMMY_A_ID_2, DUMMY_B_SET_FIELD_NAME, relatedIds))
+                .containsExactly(DUMMY_B_ID_2);
+    }
+
+    @Test
+    void findAllRelatedByTenantIdAndIds_severalResources_relatedResourcesKeyedByIdInOrder() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        var related = repository.findAllRelatedByTenantIdAndIds(
+                TENANT_ID, List.of(DUMMY_A_ID_3, DUMMY_A_ID_1, DUMMY_A_ID_2), DUMMY_B_SET_FIELD_NAME);
+
+        assertThat(related.keySet()).containsExactly(DUMMY_A_ID_3, DUMMY_A_ID_1, DUMMY_A_ID_2);
+        assertThat(related.get(DUMMY_A_ID_3)).isEmpty();
+        assertThat(related.get(DUMMY_A_ID_1)).extracting(resource -> ((BaseEntity) resource).getId())
+                .containsExactly(DUMMY_B_ID_1, DUMMY_B_ID_2);
+        assertThat(related.get(DUMMY_A_ID_2)).extracting(resource -> ((BaseEntity) resource).getId())
+                .containsExactly(DUMMY_B_ID_2);
+    }
+
+    @Test
+    void findAllRelatedByTenantIdAndIds_resourceOfAnotherTenant_noRelatedResourcesReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        var related = repository.findAllRelatedByTenantIdAndIds(
+                UUID.randomUUID(), List.of(DUMMY_A_ID_1), DUMMY_B_SET_FIELD_NAME);
+
+        assertThat(related.get(DUMMY_A_ID_1)).isEmpty();
+    }
+
+    @Test
+    void findAllFieldsByTenantId_fieldsRequested_idFieldsAndSortPropertiesSelectedInOrder() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "index"));
+
+        var page = repository.findAllFieldsByTenantId(TENANT_ID, null, pageable, null, List.of("profileId"));
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).hasSize(2).first().satisfies(item -> {
+            assertThat(item.keySet()).containsExactly("id", "profileId", "index");
+            assertThat(item).containsEntry("index", 10L);
+        });
+    }
+
+    @Test
+    void findFieldsByTenantIdAndId_resourceOfAnotherTenant_emptyReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        assertThat(repository.findFieldsByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1, List.of("index"))).isPresent();
+        assertThat(repository.findFieldsByTenantIdAndId(UUID.randomUUID(), DUMMY_A_ID_1, List.of("index"))).isEmpty();
+    }
+
+    @Test
+    void aggregateByTenantId_noGroupBy_aggregatesOfAllResourcesOfTenantReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+        var aggregates = List.of(
+                new Aggregate(Aggregate.Function.COUNT, null, "count"),
+                new Aggregate(Aggregate.Function.SUM, "index", "sum(index)"),
+                new Aggregate(Aggregate.Function.MIN, "index", "min(index)"),
+                new Aggregate(Aggregate.Function.MAX, "index", "max(index)"));
+
+        var page = repository.aggregateByTenantId(TENANT_ID, null, List.of(), aggregates, Pageable.ofSize(10));
+
+        assertThat(page.getContent()).singleElement().isEqualTo(Map.of(
+                "count", 10L, "sum(index)", 55L, "min(index)", 1L, "max(index)", 10L));
+        assertThat(repository.aggregateByTenantId(UUID.randomUUID(), null, List.of(), aggregates.subList(0, 1),
+                Pageable.ofSize(10)).getContent()).singleElement().isEqualTo(Map.of("count", 0L));
+    }
+
+    @Test
+    void aggregateByTenantId_groupedAndSortedByAggregate_groupsPagedInOrder() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var aggregates = List.of(new Aggregate(Aggregate.Function.SUM, "index", "sum(index)"));
+        var pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "sum(index)"));
+
+        var page = repository.aggregateByTenantId(TENANT_ID, null, List.of("description"), aggregates, pageable);
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).singleElement().satisfies(item -> {
+            assertThat(item.keySet()).containsExactly("description", "sum(index)");
+            assertThat(item).containsEntry("description", "Dummy Entity C number 2");
+        });
+    }
+
+    @Test
+    void aggregateByTenantId_sortedByPropertyNotSelected_illegalArgumentExceptionThrown() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var aggregates = List.of(new Aggregate(Aggregate.Function.COUNT, null, "count"));
+        var pageable = PageRequest.of(0, 10, Sort.by("index"));
+        var groupBy = List.of("description");
+
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> repository.aggregateByTenantId(TENANT_ID, null, groupBy, aggregates, pageable));
+    }
+
+    @Test
+    void aggregateByTenantId_sumOfNonNumericProperty_illegalArgumentExceptionThrown() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityC.class, entityManager);
+        var aggregates = List.of(new Aggregate(Aggregate.Function.SUM, "description", "sum(description)"));
+        var pageable = Pageable.ofSize(10);
+        List<String> groupBy = List.of();
+
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> repository.aggregateByTenantId(TENANT_ID, null, groupBy, aggregates, pageable));
+    }
+
+    @Test
+    void findVersionByTenantIdAndId_versionedResource_versionReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityI.class, entityManager);
+
+        assertThat(repository.isVersioned()).isTrue();
+        assertThat(repository.findVersionByTenantIdAndId(TENANT_ID, DUMMY_I_ID_1)).contains(3L);
+        assertThat(repository.findVersionByTenantIdAndId(UUID.randomUUID(), DUMMY_I_ID_1)).isEmpty();
+    }
+
+    @Test
+    void getVersion_versionedResource_versionOfEntityReturned() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityI.class, entityManager);
+        var entity = new DummyEntityI();
+        entity.setVersion(7L);
+
+        assertThat(repository.getVersion(entity)).isEqualTo(7L);
+    }
+
+    @Test
+    void findVersionByTenantIdAndId_unversionedResource_illegalStateExceptionThrown() {
+        var repository = new TenantRepositoryImpl<>(DummyEntityA.class, entityManager);
+
+        assertThat(repository.isVersioned()).isFalse();
+        assertThatIllegalStateException()
+                .isThrownBy(() -> repository.findVersionByTenantIdAndId(TENANT_ID, DUMMY_A_ID_1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> findOrderedLinks(UUID id) {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "select dummy_EntityB, list_order from dummy_EntityJ_dummy_EntityB "
+                                + "where dummy_EntityJ = ? order by list_order")
+                .setParameter(1, id.toString())
+                .getResultList();
+        return rows.stream().map(row -> row[0] + ":" + row[1]).toList();
+    }
+
+    private boolean isLoaded(Object entity, String attributeName) {
+        return entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(entity, attributeName);
+    }
+
+    private <R> R readOnly(Supplier<R> read) {
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> read.get());
+    }
+
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -15,10 +16,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityB;
@@ -55,10 +61,18 @@ class ControllerRegistererServiceTest {
 
     var expectedCalls = List.of(
         List.of("{GET [/resources/" + resourceName + "], produces [application/json]}", "list"),
+        List.of("{GET [/resources/" + resourceName + "], params [stream=true], produces [application/x-ndjson]}", "stream"),
+        List.of("{GET [/resources/" + resourceName + "], params [ids && !fields], produces [application/json]}", "getByIds"),
+        List.of("{GET [/resources/" + resourceName + "], params [ids && fields], produces [application/json]}", "getFieldsByIds"),
+        List.of("{GET [/resources/" + resourceName + "], params [fields && !ids], produces [application/json]}", "listFields"),
+        List.of("{GET [/resources/" + resourceName + "/aggregate], produces [application/json]}", "aggregate"),
         List.of("{GET [/resources/" + resourceName + "/{id}], produces [application/json]}", "get"),
+        List.of("{GET [/resources/" + resourceName + "/{id}], params [fields], produces [application/json]}", "getFields"),
         List.of("{POST [/resources/" + resourceName + "], produces [application/json]}", "create"),
+        List.of("{POST [/resources/" + resourceName + "/batch], produces [application/json]}", "createBatch"),
         List.of("{DELETE [/resources/" + resourceName + "/{id}], produces [application/json]}", "delete"),
         List.of("{PUT [/resources/" + resourceName + "/{id}], produces [application/json]}", "update"),
+        List.of("{PATCH [/resources/" + resourceName + "/{id}], consumes [application/merge-patch+json], produces [application/json]}", "mergePatch"),
         List.of("{PATCH [/resources/" + resourceName + "], produces [application/json]}", "patch"));
 
     var resourceEndpointPaths = new ArrayList<String>();
@@ -74,11 +88,39 @@ class ControllerRegistererServiceTest {
   }
 
 
+  @Test
+  void mapRestOperationsToController_idsAndFieldsRequested_onlyGetFieldsByIdsMatches() throws NoSuchMethodException {
+    when(requestMappingHandlerMapping.getPatternParser()).thenReturn(new PathPatternParser());
+    var requestMappingInfos = ArgumentCaptor.forClass(RequestMappingInfo.class);
+    var methods = ArgumentCaptor.forClass(Method.class);
+
+    controllerRegistererService.mapRestOperationsToController(
+        "resources/dummyEntityAs", resourceApiController, path -> { });
+
+    Mockito.verify(requestMappingHandlerMapping, Mockito.atLeastOnce()).registerMapping(
+        requestMappingInfos.capture(), any(), methods.capture());
+    var request = new MockHttpServletRequest("GET", "/resources/dummyEntityAs");
+    request.setParameter("tenantId", "b7e813a2-bb28-11ec-8422-0242ac120002");
+    request.setParameter("ids", "b7e813a2-bb28-11ec-8422-0242ac110001");
+    request.setParameter("fields", "description");
+    ServletRequestPathUtils.parseAndCache(request);
+    var matchingMethods = new ArrayList<String>();
+    for (var index = 0; index < requestMappingInfos.getAllValues().size(); index++) {
+      if (requestMappingInfos.getAllValues().get(index).getMatchingCondition(request) != null) {
+        matchingMethods.add(methods.getAllValues().get(index).getName());
+      }
+    }
+
+    assertThat(matchingMethods).containsExactly("getFieldsByIds");
+  }
+
   @Test
   void registerRelatedPaths_controllerAndPathAndEntityUtilsProvided_registersRelatedEndpoints() {
     var expectedCalls = List.of(
         List.of("{GET [/resources/dummyEntityAs/{id}/{relation:\\QdummyEntityBSet\\E}], produces [application/json]}",
             "getRelated"),
+        List.of("{GET [/resources/dummyEntityAs/{id}/{relation:\\QdummyEntityBSet\\E}], params [idsOnly=true], produces [application/json]}",
+            "getRelatedIds"),
         List.of("{DELETE [/resources/dummyEntityAs/{id}/{relation:\\QdummyEntityBSet\\E}/{relatedIds}], produces [application/json]}",
             "deleteRelated"),
         List.of("{PUT [/resources/dummyEntityAs/{id}/{relation:\\QdummyEntityBSet\\E}/{relatedIds}], produces [application/json]}",
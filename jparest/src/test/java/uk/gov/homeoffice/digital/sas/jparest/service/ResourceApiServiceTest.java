@@ -6,13 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.homeoffice.digital.sas.jparest.EntityUtils;
+import uk.gov.homeoffice.digital.sas.jparest.controller.enums.CountMode;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityB;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityTestUtil;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceModifiedException;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceNotFoundException;
 import uk.gov.homeoffice.digital.sas.jparest.models.BaseEntity;
 import uk.gov.homeoffice.digital.sas.jparest.repository.TenantRepository;
@@ -22,6 +27,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
@@ -67,8 +73,48 @@ class ResourceApiServiceTest<T extends BaseEntity> {
 
     @Test
     void getAllResources_resourcesReturned() {
-      resourceApiService.getAllResources(TENANT_ID, null, null);
-      verify(repository).findAllByTenantId(TENANT_ID, null, null);
+      resourceApiService.getAllResources(TENANT_ID, null, null, null);
+      verify(repository).findAllByTenantId(TENANT_ID, null, null, null);
+    }
+
+    @Test
+    void getResource_resourceExists_readInReadOnlyTransaction() {
+      T resource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.of(resource));
+
+      assertThat(resourceApiService.getResource(TENANT_ID, RESOURCE_ID)).isSameAs(resource);
+      verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void streamAllResources_resourcesStreamedInReadOnlyTransaction() {
+      var sort = Sort.by("index");
+      Consumer<T> action = resource -> { };
+
+      resourceApiService.streamAllResources(TENANT_ID, sort, null, action);
+
+      verify(repository).streamAllByTenantId(TENANT_ID, null, sort, action);
+      verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void countAllResources_countModes_repositoryCountedWithLimit() {
+      doReturn(5L).when(repository).countAllByTenantId(TENANT_ID, null, null);
+      doReturn(3L).when(repository).countAllByTenantId(TENANT_ID, null, ResourceApiService.DEFAULT_COUNT_LIMIT);
+
+      assertThat(resourceApiService.countAllResources(TENANT_ID, null, CountMode.EXACT)).isEqualTo(5L);
+      assertThat(resourceApiService.countAllResources(TENANT_ID, null, CountMode.CAPPED)).isEqualTo(3L);
+      assertThat(resourceApiService.countAllResources(TENANT_ID, null, CountMode.NONE)).isNull();
+    }
+
+    @Test
+    void countAllResources_countLimitConfigured_repositoryCountedWithConfiguredLimit() {
+      resourceApiService = new ResourceApiService<>(
+              entityUtils, repository, entityValidator, new TransactionTemplate(transactionManager), 25, 10L);
+      doReturn(10L).when(repository).countAllByTenantId(TENANT_ID, null, 10L);
+
+      assertThat(resourceApiService.countAllResources(TENANT_ID, null, CountMode.CAPPED)).isEqualTo(10L);
+      assertThat(resourceApiService.getCountLimit()).isEqualTo(10L);
     }
 
     @Test
@@ -85,6 +131,37 @@ class ResourceApiServiceTest<T extends BaseEntity> {
               .isThrownBy(() -> resourceApiService.getResource(TENANT_ID, RESOURCE_ID));
     }
 
+    @Test
+    void getResourceVersion_resourceExists_versionReadInReadOnlyTransaction() {
+      when(repository.findVersionByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.of(4L));
+
+      assertThat(resourceApiService.getResourceVersion(TENANT_ID, RESOURCE_ID)).isEqualTo(4L);
+      verify(repository, never()).findByTenantIdAndId(any(), any());
+      verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void getResourceVersion_resourceDoesNotExist_resourceNotFoundExceptionThrown() {
+      when(repository.findVersionByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.empty());
+
+      assertThatExceptionOfType(ResourceNotFoundException.class)
+              .isThrownBy(() -> resourceApiService.getResourceVersion(TENANT_ID, RESOURCE_ID));
+    }
+
+    @Test
+    void getResources_idsRepeated_resourcesReadOnceInOrderInReadOnlyTransaction() {
+      T resource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      T resource2 = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID_2, TENANT_ID);
+      when(repository.findByTenantIdAndIds(TENANT_ID, List.of(RESOURCE_ID_2, RESOURCE_ID, RESOURCE_ID_3)))
+              .thenReturn(List.of(resource2, resource));
+
+      var resources = resourceApiService.getResources(
+              TENANT_ID, List.of(RESOURCE_ID_2, RESOURCE_ID, RESOURCE_ID_3, RESOURCE_ID_2));
+
+      assertThat(resources).containsExactly(resource2, resource);
+      verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
     // endregion
 
 
@@ -114,6 +191,33 @@ class ResourceApiServiceTest<T extends BaseEntity> {
       verify(repository, never()).saveAndFlush(resourceToSave);
     }
 
+    @Test
+    void createResources_entityValidationPassed_resourcesPersistedInBatches() {
+
+      T resource1 = DummyEntityTestUtil.getResource(DummyEntityA.class);
+      T resource2 = DummyEntityTestUtil.getResource(DummyEntityA.class);
+      var resources = List.of(resource1, resource2);
+      resourceApiService = new ResourceApiService<>(
+              entityUtils, repository, entityValidator, new TransactionTemplate(transactionManager), 25);
+      when(repository.persistAllInBatches(resources, 25)).thenReturn(resources);
+
+      assertThat(resourceApiService.createResources(resources)).containsExactly(resource1, resource2);
+    }
+
+    @Test
+    void createResources_entityValidationFailed_nothingPersisted() {
+
+      T resource1 = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      T resource2 = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID_2, TENANT_ID);
+      var resources = List.of(resource1, resource2);
+      doThrow(ResourceConstraintViolationException.class).when(entityValidator)
+              .validateAllAndThrowIfErrorsExist(resources);
+
+      assertThatExceptionOfType(ResourceConstraintViolationException.class).isThrownBy(() ->
+              resourceApiService.createResources(resources));
+      verify(repository, never()).persistAllInBatches(any(), anyInt());
+    }
+
     // endregion
 
 
@@ -136,6 +240,47 @@ class ResourceApiServiceTest<T extends BaseEntity> {
           resourceApiService.deleteResource(TENANT_ID, RESOURCE_ID));
     }
 
+    @Test
+    void deleteResources_allResourcesDeleted_verifyRepositoryBulkDeleteInteraction() {
+
+      var ids = List.of(RESOURCE_ID, RESOURCE_ID_2, RESOURCE_ID);
+      when(repository.deleteAllByTenantIdAndIds(TENANT_ID, ids)).thenReturn(2);
+
+      assertThatNoException().isThrownBy(() -> resourceApiService.deleteResources(TENANT_ID, ids));
+    }
+
+    @Test
+    void deleteResources_notAllResourcesDeleted_resourceNotFoundExceptionThrown() {
+
+      var ids = List.of(RESOURCE_ID, RESOURCE_ID_2);
+      when(repository.deleteAllByTenantIdAndIds(TENANT_ID, ids)).thenReturn(1);
+
+      assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() ->
+          resourceApiService.deleteResources(TENANT_ID, ids));
+    }
+
+    @Test
+    void patchResources_operationsOfEachType_resourcesReplacedRemovedThenAdded() {
+
+      T replaced = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      T original = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      T added = DummyEntityTestUtil.getResource(DummyEntityA.class);
+      var removedIds = List.of(RESOURCE_ID_2);
+      when(repository.findByTenantIdAndIds(TENANT_ID, Set.of(RESOURCE_ID))).thenReturn(List.of(original));
+      when(repository.deleteAllByTenantIdAndIds(TENANT_ID, removedIds)).thenReturn(1);
+      when(repository.persistAllInBatches(List.of(added), ResourceApiService.DEFAULT_BATCH_SIZE))
+          .thenReturn(List.of(added));
+
+      var actual = resourceApiService.patchResources(
+          TENANT_ID, List.of(replaced), List.of(added), removedIds);
+
+      assertThat(actual).containsExactly(original, added);
+      var inOrder = inOrder(repository);
+      inOrder.verify(repository).flushAndClear(ResourceApiService.DEFAULT_BATCH_SIZE);
+      inOrder.verify(repository).deleteAllByTenantIdAndIds(TENANT_ID, removedIds);
+      inOrder.verify(repository).persistAllInBatches(List.of(added), ResourceApiService.DEFAULT_BATCH_SIZE);
+    }
+
     // endregion
 
 
@@ -171,6 +316,18 @@ class ResourceApiServiceTest<T extends BaseEntity> {
       verify(repository, never()).saveAndFlush(any());
     }
 
+    @Test
+    void updateResource_preconditionFailed_resourceModifiedExceptionThrownAndNothingSaved() {
+
+      T existingResource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      T newResource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.of(existingResource));
+
+      assertThatExceptionOfType(ResourceModifiedException.class).isThrownBy(() ->
+          resourceApiService.updateResource(newResource, resource -> resource != existingResource));
+      verify(repository, never()).saveAndFlush(any());
+    }
+
     @Test
     void updateResource_originalEntityNotFound_resourceNotFoundExceptionThrown() {
 
@@ -183,6 +340,49 @@ class ResourceApiServiceTest<T extends BaseEntity> {
 
     // endregion
 
+  // region patch
+
+  @Test
+  void patchResource_resourceExists_updateAppliedAndTouchedPropertiesValidated() {
+
+    T existingResource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+    when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.of(existingResource));
+    var properties = List.of("profileId");
+
+    var actual = resourceApiService.patchResource(TENANT_ID, RESOURCE_ID, properties,
+        resource -> ((DummyEntityA) resource).setProfileId(5L));
+
+    assertThat(actual).isSameAs(existingResource);
+    assertThat(((DummyEntityA) actual).getProfileId()).isEqualTo(5L);
+    var inOrder = inOrder(entityValidator, repository);
+    inOrder.verify(entityValidator).validatePropertiesAndThrowIfErrorsExist(existingResource, properties);
+    inOrder.verify(repository).flush();
+  }
+
+  @Test
+  void patchResource_touchedPropertyInvalid_resourceConstraintViolationExceptionThrown() {
+
+    T existingResource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
+    when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(Optional.of(existingResource));
+    var properties = List.of("profileId");
+    doThrow(ResourceConstraintViolationException.class).when(entityValidator)
+        .validatePropertiesAndThrowIfErrorsExist(existingResource, properties);
+
+    assertThatExceptionOfType(ResourceConstraintViolationException.class).isThrownBy(() ->
+        resourceApiService.patchResource(TENANT_ID, RESOURCE_ID, properties, resource -> { }));
+    verify(repository, never()).flush();
+  }
+
+  @Test
+  void patchResource_resourceDoesNotExist_resourceNotFoundExceptionThrown() {
+
+    List<String> properties = List.of();
+    assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() ->
+        resourceApiService.patchResource(TENANT_ID, RESOURCE_ID, properties, resource -> { }));
+  }
+
+  // endregion
+
   // region update multiple
   @Test
   void updateResources_entityValidationPassed_existingResourceIsUpdated() {
@@ -207,16 +407,52 @@ class ResourceApiServiceTest<T extends BaseEntity> {
   void updateResources_entityValidationFailed_resourceConstraintViolationExceptionThrown() {
 
     T newResource = DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID);
-    doThrow(ResourceConstraintViolationException.class).when(entityValidator)
-        .validateAndThrowIfErrorsExist(newResource);
-
     var payload = List.of(newResource);
+    doThrow(ResourceConstraintViolationException.class).when(entityValidator)
+        .validateAllAndThrowIfErrorsExist(payload);
 
     assertThatExceptionOfType(ResourceConstraintViolationException.class).isThrownBy(() ->
         resourceApiService.updateResources(payload, TENANT_ID));
     verify(repository, never()).saveAndFlush(any());
   }
 
+  @Test
+  void updateResources_moreResourcesThanBatchSize_resourcesLoadedAndFlushedInChunks() {
+
+    var resources = new ArrayList<T>();
+    for (var id : List.of(RESOURCE_ID, RESOURCE_ID_2, RESOURCE_ID_3)) {
+      resources.add(DummyEntityTestUtil.getResource(DummyEntityA.class, id, TENANT_ID));
+    }
+    resourceApiService = new ResourceApiService<>(
+        entityUtils, repository, entityValidator, new TransactionTemplate(transactionManager), 2);
+    when(repository.findByTenantIdAndIds(TENANT_ID, Set.of(RESOURCE_ID, RESOURCE_ID_2)))
+        .thenReturn(List.of(
+            DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID),
+            DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID_2, TENANT_ID)));
+    when(repository.findByTenantIdAndIds(TENANT_ID, Set.of(RESOURCE_ID_3)))
+        .thenReturn(List.of(DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID_3, TENANT_ID)));
+
+    var updated = resourceApiService.updateResources(resources, TENANT_ID);
+
+    assertThat(updated).extracting(BaseEntity::getId).containsExactly(RESOURCE_ID, RESOURCE_ID_2, RESOURCE_ID_3);
+    verify(repository, times(2)).flushAndClear(2);
+    verify(entityValidator).validateAllAndThrowIfErrorsExist(resources);
+  }
+
+  @Test
+  void updateResources_sameIdSuppliedTwice_illegalArgumentExceptionThrown() {
+
+    var payload = List.<T>of(
+        DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID),
+        DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID_2, TENANT_ID),
+        DummyEntityTestUtil.getResource(DummyEntityA.class, RESOURCE_ID, TENANT_ID));
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> resourceApiService.updateResources(payload, TENANT_ID))
+        .withMessage("The resource with id " + RESOURCE_ID + " can only be updated once in a request");
+    verifyNoInteractions(repository);
+  }
+
   @Test
   void updateResources_originalEntityNotFound_resourceNotFoundExceptionThrown() {
 
@@ -235,26 +471,18 @@ class ResourceApiServiceTest<T extends BaseEntity> {
     // region deleteRelated
 
     @Test
-    void deleteRelatedResources_parentAndRelatedResourcesFound_verifyRepositoryInteraction() {
-
-      //mock getting parent entity
-      T parentResource = DummyEntityTestUtil.getResource(
-          DummyEntityA.class, RESOURCE_ID, TENANT_ID);
-      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME)).thenReturn(Optional.of(parentResource));
+    void deleteRelatedResources_parentAndRelatedResourcesFound_linksDeletedFromJoinTable() {
 
-      //mock getting the related entities and references to delete
       List<UUID> relatedIds = List.of(RESOURCE_ID_2, RESOURCE_ID_3);
-      var relatedEntities = relatedIds.stream()
-          .map(id -> DummyEntityTestUtil.getResource(RELATED_RESOURCE_CLASS, id, TENANT_ID))
-          .collect(Collectors.toList());
-      when(entityUtils.getRelatedEntities(parentResource, RELATED_RESOURCE_NAME)).thenReturn(relatedEntities);
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, relatedIds.get(0))).thenReturn(relatedEntities.get(0));
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, relatedIds.get(1))).thenReturn(relatedEntities.get(1));
+      when(repository.existsByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(true);
+      when(repository.findRelatedIdsByIdAndRelation(RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds))
+          .thenReturn(Set.copyOf(relatedIds));
 
       assertThatNoException().isThrownBy(() -> resourceApiService.deleteRelatedResources(
-          TENANT_ID, parentResource.getId(), RELATED_RESOURCE_NAME, relatedIds));
+          TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds));
 
-      verify(repository).saveAndFlush(parentResource);
+      verify(repository).deleteRelatedByIdAndRelation(RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds);
+      verify(repository, never()).findByTenantIdAndId(any(), any(), any());
     }
 
     @Test
@@ -265,7 +493,7 @@ class ResourceApiServiceTest<T extends BaseEntity> {
           .isThrownBy(() -> resourceApiService.deleteRelatedResources(
               TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds));
 
-      verify(repository, never()).saveAndFlush(any());
+      verify(repository, never()).deleteRelatedByIdAndRelation(any(), any(), any());
     }
 
     @Test
@@ -274,29 +502,17 @@ class ResourceApiServiceTest<T extends BaseEntity> {
       var relatedEntityId = RESOURCE_ID_2;
       var unrelatedEntityId = RESOURCE_ID_3;
       List<UUID> idsToDelete = List.of(relatedEntityId, unrelatedEntityId);
-
-      //mock getting parent entity
-      T parentResource = DummyEntityTestUtil.getResource(
-          DummyEntityA.class, RESOURCE_ID, TENANT_ID);
-      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME)).thenReturn(Optional.of(parentResource));
-
-      //mock getting the related entities to delete except those that are not related for the IDs passed in
-      var relatedEntities = new ArrayList<>();
-      relatedEntities.add(DummyEntityTestUtil.getResource(RELATED_RESOURCE_CLASS, relatedEntityId, TENANT_ID));
-      when(entityUtils.getRelatedEntities(parentResource, RELATED_RESOURCE_NAME)).thenReturn(relatedEntities);
-
-      //mock getting references for ids passed in
+      when(repository.existsByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(true);
+      when(repository.findRelatedIdsByIdAndRelation(RESOURCE_ID, RELATED_RESOURCE_NAME, idsToDelete))
+          .thenReturn(Set.of(relatedEntityId));
       doReturn(RELATED_RESOURCE_CLASS).when(entityUtils).getRelatedType(RELATED_RESOURCE_NAME);
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, relatedEntityId)).thenReturn(relatedEntities.get(0));
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, unrelatedEntityId)).thenReturn(
-          DummyEntityTestUtil.getResource(DummyEntityB.class, unrelatedEntityId, TENANT_ID));
 
       assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() ->
               resourceApiService.deleteRelatedResources(
                   TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, idsToDelete))
           .withMessage(deletableRelatedResourcesMessage(RELATED_RESOURCE_CLASS, List.of(unrelatedEntityId)));
 
-      verify(repository, never()).saveAndFlush(parentResource);
+      verify(repository, never()).deleteRelatedByIdAndRelation(any(), any(), any());
     }
 
     // endregion
@@ -305,29 +521,20 @@ class ResourceApiServiceTest<T extends BaseEntity> {
     // region addRelated
 
     @Test
-    void addRelatedResources_parentAndRelatedResourcesFound_relatedResourcesAdded() {
-
-      //mock getting parent entity
-      T parentResource = DummyEntityTestUtil.getResource(
-          DummyEntityA.class, RESOURCE_ID, TENANT_ID);
-      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME)).thenReturn(Optional.of(parentResource));
+    void addRelatedResources_parentAndRelatedResourcesFound_linksInsertedIntoJoinTable() {
 
-      //mock getting the related entities and references to add
-      List<UUID> relatedIds = List.of(RESOURCE_ID_2, RESOURCE_ID_3);
-      var relatedEntities = relatedIds.stream()
-          .map(id -> DummyEntityTestUtil.getResource(RELATED_RESOURCE_CLASS, id, TENANT_ID))
-          .collect(Collectors.toList());
+      List<UUID> relatedIds = List.of(RESOURCE_ID_2, RESOURCE_ID_3, RESOURCE_ID_2);
+      var distinctRelatedIds = Set.of(RESOURCE_ID_2, RESOURCE_ID_3);
+      when(repository.existsByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(true);
       doReturn(RELATED_RESOURCE_CLASS).when(entityUtils).getRelatedType(RELATED_RESOURCE_NAME);
-      when(repository.countAllByTenantIdAndRelation(
-          TENANT_ID, RELATED_RESOURCE_CLASS, relatedIds)).thenReturn(Long.valueOf(relatedIds.size()));
-      when(entityUtils.getRelatedEntities(parentResource, RELATED_RESOURCE_NAME)).thenReturn(relatedEntities);
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, relatedIds.get(0))).thenReturn(relatedEntities.get(0));
-      when(entityUtils.getEntityReference(RELATED_RESOURCE_NAME, relatedIds.get(1))).thenReturn(relatedEntities.get(1));
+      when(repository.countAllByTenantIdAndRelation(TENANT_ID, RELATED_RESOURCE_CLASS, distinctRelatedIds))
+          .thenReturn(2L);
 
       resourceApiService.addRelatedResources(
-          TENANT_ID, parentResource.getId(), RELATED_RESOURCE_NAME, relatedIds);
+          TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds);
 
-      verify(repository).saveAndFlush(parentResource);
+      verify(repository).addRelatedByTenantIdAndId(TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, distinctRelatedIds);
+      verify(repository, never()).findByTenantIdAndId(any(), any(), any());
     }
 
     @Test
@@ -338,29 +545,23 @@ class ResourceApiServiceTest<T extends BaseEntity> {
           .isThrownBy(() -> resourceApiService.addRelatedResources(
               TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds));
 
-      verify(repository, never()).saveAndFlush(any());
+      verify(repository, never()).addRelatedByTenantIdAndId(any(), any(), any(), any());
     }
 
     @Test
     void addRelatedResources_notAllRelatedIdsAreValidForParent_resourceNotFoundExceptionThrown() {
 
-      //mock getting parent entity
-      T parentResource = DummyEntityTestUtil.getResource(
-          DummyEntityA.class, RESOURCE_ID, TENANT_ID);
-      when(repository.findByTenantIdAndId(TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME)).thenReturn(Optional.of(parentResource));
-
-      //mock failing related Ids resource validation
       List<UUID> relatedIds = List.of(RESOURCE_ID_2, RESOURCE_ID_3);
+      when(repository.existsByTenantIdAndId(TENANT_ID, RESOURCE_ID)).thenReturn(true);
       doReturn(RELATED_RESOURCE_CLASS).when(entityUtils).getRelatedType(RELATED_RESOURCE_NAME);
-      when(repository.countAllByTenantIdAndRelation(TENANT_ID, RELATED_RESOURCE_CLASS, relatedIds))
+      when(repository.countAllByTenantIdAndRelation(TENANT_ID, RELATED_RESOURCE_CLASS, Set.copyOf(relatedIds)))
           .thenReturn(Long.valueOf(relatedIds.size() - 1));
 
-
       assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() ->
               resourceApiService.addRelatedResources(
                   TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, relatedIds))
           .withMessage(relatedResourcesMessage(relatedIds));
-      verify(repository, never()).saveAndFlush(any());
+      verify(repository, never()).addRelatedByTenantIdAndId(any(), any(), any(), any());
     }
 
     // endregion
@@ -373,14 +574,15 @@ class ResourceApiServiceTest<T extends BaseEntity> {
       List<?> relatedResources = List.of(
           DummyEntityTestUtil.getResource(RELATED_RESOURCE_CLASS, RESOURCE_ID_2, TENANT_ID),
           DummyEntityTestUtil.getResource(RELATED_RESOURCE_CLASS, RESOURCE_ID_3, TENANT_ID));
+      var relatedPage = new SliceImpl<>(relatedResources);
 
-      doReturn(relatedResources).when(repository).findAllByTenantIdAndIdAndRelation(
-          TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, RELATED_RESOURCE_CLASS, null, null);
+      doReturn(relatedPage).when(repository).findAllByTenantIdAndIdAndRelation(
+          TENANT_ID, RESOURCE_ID, RELATED_RESOURCE_NAME, RELATED_RESOURCE_CLASS, null, null, null);
       doReturn(RELATED_RESOURCE_CLASS).when(entityUtils).getRelatedType(RELATED_RESOURCE_NAME);
 
       var actualRelatedResources = resourceApiService.getRelatedResources(TENANT_ID, RESOURCE_ID,
-          RELATED_RESOURCE_NAME, null, null);
-      assertThat(actualRelatedResources).isEqualTo(relatedResources);
+          RELATED_RESOURCE_NAME, null, null, null);
+      assertThat(actualRelatedResources).isEqualTo(relatedPage);
     }
 
     // endregion
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
+import uk.gov.homeoffice.digital.sas.jparest.controller.ResourceApiController;
 import uk.gov.homeoffice.digital.sas.jparest.controller.enums.RequestParameter;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityB;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityC;
@@ -30,6 +31,8 @@ class PathItemCreatorTest {
     private static final Class<?> RELATED_RESOURCE_CLASS = DummyEntityB.class;
     private static final String TAG = RESOURCE_CLASS.getSimpleName();
     private static final String HTTP_200_KEY = "200";
+    private static final String HTTP_304_KEY = "304";
+    private static final String HTTP_412_KEY = "412";
 
 
     @Test
@@ -45,11 +48,13 @@ class PathItemCreatorTest {
 
         //params
         assertParameterValues(
-                actualGetOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.PAGEABLE, RequestParameter.FILTER);
+                actualGetOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.PAGEABLE, RequestParameter.CURSOR, RequestParameter.IDS, RequestParameter.COUNT, RequestParameter.STREAM, RequestParameter.FIELDS, RequestParameter.FILTER, RequestParameter.INCLUDE, RequestParameter.IF_NONE_MATCH);
 
         //responses
-        assertThat(actualGetOperation.getResponses()).containsKey(HTTP_200_KEY);
+        assertThat(actualGetOperation.getResponses()).containsKeys(HTTP_200_KEY, HTTP_304_KEY);
         assertResourceResponse(actualGetOperation.getResponses().get(HTTP_200_KEY));
+        assertThat(actualGetOperation.getResponses().get(HTTP_200_KEY).getContent()
+                .get(MediaType.APPLICATION_NDJSON_VALUE).getSchema()).isNotNull();
     }
 
     @Test
@@ -69,6 +74,49 @@ class PathItemCreatorTest {
         assertResourceResponse(actualPostOperation.getResponses().get(HTTP_200_KEY));
     }
 
+    @Test
+    void createBatchPath_postOperationDataIsSet() {
+
+        var pathItemCreator = new PathItemCreator();
+        var pathItem = pathItemCreator.createBatchPath(TAG, RESOURCE_CLASS);
+
+        //operation
+        assertThat(pathItem.readOperationsMap()).containsOnlyKeys(PathItem.HttpMethod.POST);
+        var actualPostOperation = pathItem.readOperationsMap().get(PathItem.HttpMethod.POST);
+        assertThat(actualPostOperation.getTags()).containsExactly(TAG);
+
+        //params
+        assertParameterValues(actualPostOperation.getParameters(), RequestParameter.TENANT_ID);
+
+        //request / responses
+        assertRequestBody(actualPostOperation.getRequestBody());
+        assertThat(actualPostOperation.getRequestBody().getContent()
+                .get(MediaType.APPLICATION_JSON_VALUE).getSchema().getType()).isEqualTo("array");
+        assertThat(actualPostOperation.getResponses()).containsKey(HTTP_200_KEY);
+        assertResourceResponse(actualPostOperation.getResponses().get(HTTP_200_KEY));
+    }
+
+    @Test
+    void createAggregatePath_getOperationDataIsSet() {
+
+        var pathItemCreator = new PathItemCreator();
+        var pathItem = pathItemCreator.createAggregatePath(TAG, RESOURCE_CLASS);
+
+        //operation
+        assertThat(pathItem.readOperationsMap()).containsOnlyKeys(PathItem.HttpMethod.GET);
+        var actualGetOperation = pathItem.readOperationsMap().get(PathItem.HttpMethod.GET);
+        assertThat(actualGetOperation.getTags()).containsExactly(TAG);
+
+        //params
+        assertParameterValues(actualGetOperation.getParameters(), RequestParameter.TENANT_ID,
+                RequestParameter.PAGEABLE, RequestParameter.FILTER, RequestParameter.AGGREGATE,
+                RequestParameter.GROUP_BY);
+
+        //responses
+        assertThat(actualGetOperation.getResponses()).containsOnlyKeys(HTTP_200_KEY);
+        assertResourceResponse(actualGetOperation.getResponses().get(HTTP_200_KEY));
+    }
+
     @Test
     void createRelatedRootPath_getOperationDataIsSet() {
 
@@ -83,7 +131,7 @@ class PathItemCreatorTest {
         //params
         assertParameterValues(
                 actualGetOperation.getParameters(),
-                RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.PAGEABLE, RequestParameter.FILTER);
+                RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.PAGEABLE, RequestParameter.CURSOR, RequestParameter.IDS_ONLY, RequestParameter.COUNT, RequestParameter.FILTER);
 
         //responses
         assertThat(actualGetOperation.getResponses()).containsKey(HTTP_200_KEY);
@@ -104,10 +152,10 @@ class PathItemCreatorTest {
 
         //params
         assertParameterValues(
-                actualGetOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.ID);
+                actualGetOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.FIELDS, RequestParameter.INCLUDE, RequestParameter.IF_NONE_MATCH);
 
         //responses
-        assertThat(actualGetOperation.getResponses()).containsKey(HTTP_200_KEY);
+        assertThat(actualGetOperation.getResponses()).containsKeys(HTTP_200_KEY, HTTP_304_KEY);
         assertResourceResponse(actualGetOperation.getResponses().get(HTTP_200_KEY));
     }
 
@@ -124,11 +172,32 @@ class PathItemCreatorTest {
 
         //request / responses
         assertRequestBody(actualPutOperation.getRequestBody());
-        assertThat(actualPutOperation.getResponses()).containsKey(HTTP_200_KEY);
+        assertThat(actualPutOperation.getResponses()).containsKeys(HTTP_200_KEY, HTTP_412_KEY);
         assertResourceResponse(actualPutOperation.getResponses().get(HTTP_200_KEY));
 
         //params
-        assertParameterValues(actualPutOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.ID);
+        assertParameterValues(actualPutOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.IF_MATCH);
+    }
+
+    @Test
+    void createItemPath_patchOperationDataIsSet() {
+
+        var pathItemCreator = new PathItemCreator();
+        var pathItem = pathItemCreator.createItemPath(TAG, RESOURCE_CLASS);
+
+        //operation
+        assertThat(pathItem.readOperationsMap()).containsKey(PathItem.HttpMethod.PATCH);
+        var actualPatchOperation = pathItem.readOperationsMap().get(PathItem.HttpMethod.PATCH);
+        assertThat(actualPatchOperation.getTags()).containsExactly(TAG);
+
+        //request / responses
+        assertThat(actualPatchOperation.getRequestBody().getContent()
+                .get(ResourceApiController.MERGE_PATCH_MEDIA_TYPE).getSchema()).isNotNull();
+        assertThat(actualPatchOperation.getResponses()).containsKeys(HTTP_200_KEY, HTTP_412_KEY);
+        assertResourceResponse(actualPatchOperation.getResponses().get(HTTP_200_KEY));
+
+        //params
+        assertParameterValues(actualPatchOperation.getParameters(), RequestParameter.TENANT_ID, RequestParameter.ID, RequestParameter.IF_MATCH);
     }
 
     @Test
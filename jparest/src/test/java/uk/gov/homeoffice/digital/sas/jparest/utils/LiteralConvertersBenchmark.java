@@ -0,0 +1,131 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.propertyeditors.CustomDateEditor;
+import org.springframework.web.bind.WebDataBinder;
+import uk.gov.homeoffice.digital.sas.jparest.editor.CustomInstantEditor;
+import uk.gov.homeoffice.digital.sas.jparest.editor.LocalDateEditor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures converting filter literals with the {@link LiteralConverters} against the
+ * shared {@link WebDataBinder} they replaced, whose stateful property editors were
+ * used by every request thread. The benchmarks run on several threads as requests do.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rates. Run the main method
+ * from the IDE, or from the jparest directory with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.homeoffice.digital.sas.jparest.utils.LiteralConvertersBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class LiteralConvertersBenchmark {
+
+    private static final String INSTANT = "2012-12-12T10:00:00Z";
+    private static final String LOCAL_DATE = "2012-12-12";
+    private static final String UUID_TEXT = "b7e813a2-bb28-11ec-8422-0242ac120002";
+
+    private WebDataBinder binder;
+    private Function<Object, Instant> instantConverter;
+    private Function<Object, LocalDate> localDateConverter;
+    private Function<Object, Date> dateConverter;
+    private Function<Object, UUID> uuidConverter;
+    private Function<Object, Long> longConverter;
+
+    @Setup
+    public void setup() {
+        binder = new WebDataBinder(null);
+        binder.registerCustomEditor(Date.class, new CustomDateEditor(new StdDateFormat(), true));
+        binder.registerCustomEditor(Instant.class, new CustomInstantEditor());
+        binder.registerCustomEditor(LocalDate.class, new LocalDateEditor());
+
+        instantConverter = LiteralConverters.forType(Instant.class);
+        localDateConverter = LiteralConverters.forType(LocalDate.class);
+        dateConverter = LiteralConverters.forType(Date.class);
+        uuidConverter = LiteralConverters.forType(UUID.class);
+        longConverter = LiteralConverters.forType(Long.class);
+    }
+
+    @Benchmark
+    public Object instant_webDataBinder() {
+        return binder.convertIfNecessary(INSTANT, Instant.class);
+    }
+
+    @Benchmark
+    public Object instant_literalConverters() {
+        return instantConverter.apply(INSTANT);
+    }
+
+    @Benchmark
+    public Object localDate_webDataBinder() {
+        return binder.convertIfNecessary(LOCAL_DATE, LocalDate.class);
+    }
+
+    @Benchmark
+    public Object localDate_literalConverters() {
+        return localDateConverter.apply(LOCAL_DATE);
+    }
+
+    @Benchmark
+    public Object date_webDataBinder() {
+        return binder.convertIfNecessary(INSTANT, Date.class);
+    }
+
+    @Benchmark
+    public Object date_literalConverters() {
+        return dateConverter.apply(INSTANT);
+    }
+
+    @Benchmark
+    public Object uuid_webDataBinder() {
+        return binder.convertIfNecessary(UUID_TEXT, UUID.class);
+    }
+
+    @Benchmark
+    public Object uuid_literalConverters() {
+        return uuidConverter.apply(UUID_TEXT);
+    }
+
+    @Benchmark
+    public Object number_webDataBinder() {
+        return binder.convertIfNecessary(1, Long.class);
+    }
+
+    @Benchmark
+    public Object number_literalConverters() {
+        return longConverter.apply(1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LiteralConvertersBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
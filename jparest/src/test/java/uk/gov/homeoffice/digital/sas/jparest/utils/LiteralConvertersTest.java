@@ -0,0 +1,118 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.TypeMismatchException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class LiteralConvertersTest {
+
+    private static final String UUID_TEXT = "b7e813a2-bb28-11ec-8422-0242ac120002";
+
+    private enum Colour {
+        RED
+    }
+
+    private static Stream<Arguments> conversions() {
+        return Stream.of(
+                Arguments.of("text", String.class, "text"),
+                Arguments.of(1, String.class, "1"),
+                Arguments.of(UUID_TEXT, UUID.class, UUID.fromString(UUID_TEXT)),
+                Arguments.of("2012-12-12T10:00:00Z", Instant.class, Instant.parse("2012-12-12T10:00:00Z")),
+                Arguments.of("2012-12-12", LocalDate.class, LocalDate.of(2012, 12, 12)),
+                Arguments.of("2012-12-12", Date.class, Date.from(Instant.parse("2012-12-12T00:00:00Z"))),
+                Arguments.of("2012-12-12T10:00:00", Date.class, Date.from(Instant.parse("2012-12-12T10:00:00Z"))),
+                Arguments.of("2012-12-12T10:00:00+01:00", Date.class, Date.from(Instant.parse("2012-12-12T09:00:00Z"))),
+                Arguments.of("1355306400000", Date.class, Date.from(Instant.parse("2012-12-12T10:00:00Z"))),
+                Arguments.of("RED", Colour.class, Colour.RED),
+                Arguments.of(1, Long.class, 1L),
+                Arguments.of(1, long.class, 1L),
+                Arguments.of("12", Integer.class, 12),
+                Arguments.of(1.5, BigDecimal.class, new BigDecimal("1.5")),
+                Arguments.of("yes", Boolean.class, true),
+                Arguments.of("TRUE", Boolean.class, true),
+                Arguments.of(false, boolean.class, false),
+                Arguments.of(" ", Instant.class, null),
+                Arguments.of(null, UUID.class, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("conversions")
+    void forType_literal_convertedToType(Object value, Class<?> type, Object expected) {
+        assertThat(LiteralConverters.forType(type).apply(value)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {UUID.class, Instant.class, LocalDate.class, Date.class, Colour.class, Long.class, Boolean.class})
+    void forType_invalidLiteral_typeMismatchExceptionThrown(Class<?> type) {
+        var converter = LiteralConverters.forType(type);
+
+        assertThatExceptionOfType(TypeMismatchException.class)
+                .isThrownBy(() -> converter.apply("invalid"))
+                .satisfies(ex -> assertThat(ex.getRequiredType()).isEqualTo(type));
+    }
+
+    @Test
+    void forType_numberTooLargeForType_typeMismatchExceptionThrown() {
+        var converter = LiteralConverters.forType(Integer.class);
+
+        assertThatExceptionOfType(TypeMismatchException.class)
+                .isThrownBy(() -> converter.apply(Long.MAX_VALUE));
+    }
+
+    @Test
+    void forType_convertedConcurrently_everyThreadGetsItsOwnValues() throws Exception {
+        var threads = 16;
+        var conversionsPerThread = 2_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var instantConverter = LiteralConverters.forType(Instant.class);
+        var dateConverter = LiteralConverters.forType(Date.class);
+        var localDateConverter = LiteralConverters.forType(LocalDate.class);
+        try {
+            var tasks = new ArrayList<Callable<Boolean>>();
+            for (var thread = 0; thread < threads; thread++) {
+                var day = LocalDate.of(2000, 1, 1).plusDays(thread * 31L);
+                var instant = day.atTime(thread, thread).toInstant(ZoneOffset.UTC);
+                tasks.add(() -> {
+                    start.await();
+                    for (var i = 0; i < conversionsPerThread; i++) {
+                        if (!instant.equals(instantConverter.apply(instant.toString()))
+                                || !Date.from(instant).equals(dateConverter.apply(instant.toString()))
+                                || !day.equals(localDateConverter.apply(day.toString()))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            }
+            var results = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class LruCacheTest {
+
+    @Test
+    void computeIfAbsent_keyNotCached_valueComputedAndMissCounted() {
+        var cache = new LruCache<String, String>(2);
+
+        var value = cache.computeIfAbsent("a", String::toUpperCase);
+
+        assertThat(value).isEqualTo("A");
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitCount()).isZero();
+    }
+
+    @Test
+    void computeIfAbsent_keyCached_cachedValueReturnedAndHitCounted() {
+        var cache = new LruCache<String, Object>(2);
+        var value = cache.computeIfAbsent("a", k -> new Object());
+
+        assertThat(cache.computeIfAbsent("a", k -> new Object())).isSameAs(value);
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void put_maximumSizeExceeded_leastRecentlyUsedEntryEvicted() {
+        var cache = new LruCache<String, String>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+
+        cache.put("c", "C");
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("c")).isEqualTo("C");
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getStatistics().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void put_maximumWeightExceeded_leastRecentlyUsedEntriesEvicted() {
+        var cache = new LruCache<String, String>(10, 6, String::length);
+        cache.put("aa", "A");
+        cache.put("bb", "B");
+        cache.put("cc", "C");
+
+        cache.put("dddd", "D");
+
+        assertThat(cache.get("aa")).isNull();
+        assertThat(cache.get("bb")).isNull();
+        assertThat(cache.get("cc")).isEqualTo("C");
+        assertThat(cache.get("dddd")).isEqualTo("D");
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void put_entryHeavierThanMaximumWeight_entryNotCached() {
+        var cache = new LruCache<String, String>(10, 3, String::length);
+
+        cache.put("aaaa", "A");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void computeIfAbsent_mappingFunctionThrows_nothingCached() {
+        var cache = new LruCache<String, String>(2);
+
+        assertThatIllegalStateException().isThrownBy(() -> cache.computeIfAbsent("a", k -> {
+            throw new IllegalStateException();
+        }));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void constructor_maximumSizeNotPositive_illegalArgumentExceptionThrown() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new LruCache<String, String>(0));
+    }
+
+}
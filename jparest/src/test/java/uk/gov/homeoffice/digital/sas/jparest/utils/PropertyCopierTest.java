@@ -0,0 +1,121 @@
+package uk.gov.homeoffice.digital.sas.jparest.utils;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityA;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityB;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityI;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyCopierTest {
+
+    @Test
+    void forType_sameTypeRequestedTwice_sameCopierReturned() {
+        assertThat(PropertyCopier.forType(DummyEntityA.class)).isSameAs(PropertyCopier.forType(DummyEntityA.class));
+    }
+
+    @Test
+    void copy_propertiesDiffer_onlyChangedPropertiesCopied() {
+        var source = new DummyEntityA();
+        source.setIndex(2L);
+        source.setProfileId(1L);
+        var target = new DummyEntityA();
+        target.setIndex(1L);
+        target.setProfileId(1L);
+
+        var changed = PropertyCopier.forType(DummyEntityA.class).copy(source, target);
+
+        assertThat(changed).containsExactly("index");
+        assertThat(target.getIndex()).isEqualTo(2L);
+        assertThat(target.getProfileId()).isEqualTo(1L);
+    }
+
+    @Test
+    void copy_sourcePropertyIsNull_targetPropertySetToNull() {
+        var source = new DummyEntityA();
+        var target = new DummyEntityA();
+        target.setIndex(1L);
+        target.setDummyEntityBSet(Set.of(new DummyEntityB()));
+
+        var changed = PropertyCopier.forType(DummyEntityA.class).copy(source, target);
+
+        assertThat(changed).containsExactlyInAnyOrder("index", "dummyEntityBSet");
+        assertThat(target.getIndex()).isNull();
+        assertThat(target.getDummyEntityBSet()).isNull();
+    }
+
+    @Test
+    void copy_idAndTenantIdDiffer_idAndTenantIdNotCopied() {
+        var source = new DummyEntityA();
+        source.setId(UUID.randomUUID());
+        source.setTenantId(UUID.randomUUID());
+        var target = new DummyEntityA();
+        var id = UUID.randomUUID();
+        var tenantId = UUID.randomUUID();
+        target.setId(id);
+        target.setTenantId(tenantId);
+
+        var changed = PropertyCopier.forType(DummyEntityA.class).copy(source, target);
+
+        assertThat(changed).isEmpty();
+        assertThat(target.getId()).isEqualTo(id);
+        assertThat(target.getTenantId()).isEqualTo(tenantId);
+    }
+
+    @Test
+    void copy_versionDiffers_versionNotCopied() {
+        var source = new DummyEntityI();
+        source.setDescription("changed");
+        var target = new DummyEntityI();
+        target.setVersion(3L);
+
+        var changed = PropertyCopier.forType(DummyEntityI.class).copy(source, target);
+
+        assertThat(changed).containsExactly("description");
+        assertThat(target.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void copy_primitiveAndReadOnlyProperties_primitivesCopiedAndReadOnlyIgnored() {
+        var source = new PrimitiveBean();
+        source.setCount(3);
+        source.setEnabled(true);
+        var target = new PrimitiveBean();
+
+        var changed = PropertyCopier.forType(PrimitiveBean.class).copy(source, target);
+
+        assertThat(changed).containsExactlyInAnyOrder("count", "enabled");
+        assertThat(target.getCount()).isEqualTo(3);
+        assertThat(target.isEnabled()).isTrue();
+    }
+
+    public static class PrimitiveBean {
+
+        private int count;
+        private boolean enabled;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getReadOnly() {
+            return "read only";
+        }
+    }
+
+}
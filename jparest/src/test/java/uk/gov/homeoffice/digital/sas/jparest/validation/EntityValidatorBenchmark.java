@@ -0,0 +1,117 @@
+package uk.gov.homeoffice.digital.sas.jparest.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.engine.HibernateConstraintViolation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityD;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * Measures the failure path of validation, where every entity is invalid, comparing
+ * the {@link EntityValidator} against validating and grouping the violations of each
+ * entity with streams.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rates. Run the main method
+ * from the IDE, or from the jparest directory with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.homeoffice.digital.sas.jparest.validation.EntityValidatorBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityValidatorBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private EntityValidator entityValidator;
+    private Validator validator;
+    private DummyEntityD invalidEntity;
+    private List<DummyEntityD> invalidEntities;
+
+    @Setup
+    public void setup() {
+        entityValidator = new EntityValidator();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        invalidEntity = new DummyEntityD();
+        invalidEntity.setTelephone("-123456");
+        invalidEntities = new ArrayList<>();
+        for (var i = 0; i < BATCH_SIZE; i++) {
+            invalidEntities.add(invalidEntity);
+        }
+    }
+
+    @Benchmark
+    public List<StructuredError> getErrors_streamGrouping() {
+        return groupWithStreams(validator.validate(invalidEntity));
+    }
+
+    @Benchmark
+    public List<StructuredError> getErrors_entityValidator() {
+        return entityValidator.getErrors(invalidEntity);
+    }
+
+    @Benchmark
+    public List<StructuredError> validateBatch_streamGrouping() {
+        var errors = new ArrayList<StructuredError>();
+        for (var i = 0; i < invalidEntities.size(); i++) {
+            for (var error : groupWithStreams(validator.validate(invalidEntities.get(i)))) {
+                errors.add(new StructuredError(
+                        "[" + i + "]." + error.getField(), error.getMessage(), error.getData()));
+            }
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public List<StructuredError> validateBatch_entityValidator() {
+        return entityValidator.validateAll(invalidEntities);
+    }
+
+    private static List<StructuredError> groupWithStreams(Set<ConstraintViolation<DummyEntityD>> constraintViolations) {
+        var hibernateConstraintViolation = constraintViolations.iterator().next()
+                .unwrap(HibernateConstraintViolation.class);
+
+        return constraintViolations.stream()
+                .collect(groupingBy(ConstraintViolation::getPropertyPath))
+                .entrySet().stream()
+                .map(entry -> new StructuredError(entry.getKey().toString(),
+                        entry.getValue().stream()
+                                .map(ConstraintViolation::getMessage)
+                                .collect(Collectors.joining(", ")),
+                        hibernateConstraintViolation.getDynamicPayload(ArrayList.class)))
+                .collect(toCollection(ArrayList::new));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityValidatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
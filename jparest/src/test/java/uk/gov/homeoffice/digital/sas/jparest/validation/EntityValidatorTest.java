@@ -6,7 +6,20 @@ import org.mockito.Mockito;
 import uk.gov.homeoffice.digital.sas.jparest.entityutils.testentities.DummyEntityD;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.ResourceConstraintViolationException;
 
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
 import jakarta.validation.Validation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import uk.gov.homeoffice.digital.sas.jparest.exceptions.StructuredError;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -72,4 +85,147 @@ class EntityValidatorTest {
         assertThat(descriptionError.getMessage()).isEqualTo("must not be empty");
     }
 
+    @Test
+    void getErrors_constraintViolationsExist_errorsReturnedWithoutThrowing() {
+        var entity = new DummyEntityD();
+
+        var errors = new EntityValidator().getErrors(entity);
+
+        assertThat(errors).extracting(StructuredError::getField)
+            .containsExactlyInAnyOrder("telephone", "description");
+    }
+
+    @Test
+    void validatePropertiesAndThrowIfErrorsExist_onlyValidPropertiesGiven_noExceptionThrown() {
+        var entity = new DummyEntityD();
+        entity.setDescription("description");
+
+        var entityValidator = new EntityValidator();
+        var properties = List.of("description");
+        assertThatNoException().isThrownBy(() -> entityValidator.validatePropertiesAndThrowIfErrorsExist(entity, properties));
+    }
+
+    @Test
+    void validatePropertiesAndThrowIfErrorsExist_invalidPropertyGiven_onlyErrorsForGivenPropertiesThrown() {
+        var entity = new DummyEntityD();
+        entity.setDescription("description");
+
+        Throwable thrown = catchThrowable(() -> new EntityValidator()
+            .validatePropertiesAndThrowIfErrorsExist(entity, List.of("description", "telephone")));
+
+        assertThat(thrown).isInstanceOf(ResourceConstraintViolationException.class);
+        assertThat(((ResourceConstraintViolationException) thrown).getErrorResponse())
+            .extracting(StructuredError::getField).containsExactly("telephone");
+    }
+
+    @Test
+    void validatePropertiesAndThrowIfErrorsExist_onlyUnconstrainedPropertiesGiven_noExceptionThrown() {
+        var entity = new DummyEntityD();
+
+        var entityValidator = new EntityValidator();
+        var properties = List.of("id", "tenantId");
+        assertThatNoException().isThrownBy(() -> entityValidator.validatePropertiesAndThrowIfErrorsExist(entity, properties));
+    }
+
+    @Test
+    void validateAll_someObjectsInvalid_errorsOfEveryObjectPrefixedWithIndex() {
+        var valid = new DummyEntityD();
+        valid.setDescription("description");
+        valid.setTelephone("123");
+        var invalid = new DummyEntityD();
+        invalid.setTelephone("123");
+
+        var errors = new EntityValidator().validateAll(List.of(invalid, valid, invalid));
+
+        assertThat(errors).extracting(StructuredError::getField)
+            .containsExactly("[0].description", "[2].description");
+    }
+
+    @Test
+    void validateAll_classLevelConstraintViolated_errorFieldIsIndex() {
+        var valid = new DateRange(1, 2);
+        var invalid = new DateRange(2, 1);
+
+        var errors = new EntityValidator().validateAll(List.of(valid, invalid));
+
+        assertThat(errors).extracting(StructuredError::getField).containsExactly("[1]");
+    }
+
+    @Test
+    void validateAll_largeCollection_rangesValidatedOnExecutorAndErrorsInOrder() {
+        var entities = new ArrayList<DummyEntityD>();
+        var expectedFields = new ArrayList<String>();
+        for (var i = 0; i < EntityValidator.MIN_OBJECTS_PER_THREAD * 4; i++) {
+            var entity = new DummyEntityD();
+            entity.setTelephone("123");
+            if (i % 10 == 0) {
+                expectedFields.add("[" + i + "].description");
+            } else {
+                entity.setDescription("description");
+            }
+            entities.add(entity);
+        }
+        var submitted = new AtomicInteger();
+        Executor executor = task -> {
+            submitted.incrementAndGet();
+            ForkJoinPool.commonPool().execute(task);
+        };
+
+        var errors = new EntityValidator(executor, 4).validateAll(entities);
+
+        assertThat(errors).extracting(StructuredError::getField).containsExactlyElementsOf(expectedFields);
+        assertThat(submitted).hasValue(3);
+    }
+
+    @Test
+    void validateAll_collectionSmallerThanTwoRanges_validatedOnCallingThread() {
+        var entities = new ArrayList<DummyEntityD>();
+        for (var i = 0; i < EntityValidator.MIN_OBJECTS_PER_THREAD; i++) {
+            entities.add(new DummyEntityD());
+        }
+        Executor executor = task -> {
+            throw new AssertionError("Executor should not be used");
+        };
+
+        var errors = new EntityValidator(executor, 4).validateAll(entities);
+
+        assertThat(errors).hasSize(EntityValidator.MIN_OBJECTS_PER_THREAD * 2);
+    }
+
+    @Test
+    void validateAll_objectsWithoutConstraints_noErrors() {
+        var errors = new EntityValidator().validateAll(List.of(new Object(), "unconstrained"));
+
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    void validateAllAndThrowIfErrorsExist_objectInvalid_resourceConstraintViolationExceptionThrown() {
+        var entityValidator = new EntityValidator();
+        var entities = List.of(new DummyEntityD());
+
+        assertThatExceptionOfType(ResourceConstraintViolationException.class)
+            .isThrownBy(() -> entityValidator.validateAllAndThrowIfErrorsExist(entities));
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = OrderedRangeValidator.class)
+    @interface OrderedRange {
+        String message() default "start must not be after end";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class OrderedRangeValidator implements ConstraintValidator<OrderedRange, DateRange> {
+        @Override
+        public boolean isValid(DateRange value, ConstraintValidatorContext context) {
+            return value.start() <= value.end();
+        }
+    }
+
+    @OrderedRange
+    record DateRange(int start, int end) {
+    }
+
 }
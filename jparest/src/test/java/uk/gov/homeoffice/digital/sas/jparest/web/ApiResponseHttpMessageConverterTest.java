@@ -0,0 +1,65 @@
+package uk.gov.homeoffice.digital.sas.jparest.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseHttpMessageConverterTest {
+
+    private final ApiResponseHttpMessageConverter converter =
+            new ApiResponseHttpMessageConverter(new ObjectMapper());
+
+    @AfterEach
+    void resetRequestAttributes() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void write_contentEtagRequested_etagOfWrittenBytesAdded() throws IOException {
+        var attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        attributes.setAttribute(ApiResponseHttpMessageConverter.CONTENT_ETAG_ATTRIBUTE,
+                Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        RequestContextHolder.setRequestAttributes(attributes);
+        var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new ApiResponse<>(List.of(Map.of("index", 1))), MediaType.APPLICATION_JSON, outputMessage);
+
+        var body = outputMessage.getBodyAsBytes();
+        assertThat(body).isNotEmpty();
+        assertThat(outputMessage.getHeaders().getETag())
+                .isEqualTo("\"0" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    @Test
+    void write_contentEtagNotRequested_noEtagAdded() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new ApiResponse<>(List.of(Map.of("index", 1))), MediaType.APPLICATION_JSON, outputMessage);
+
+        assertThat(outputMessage.getBodyAsBytes()).isNotEmpty();
+        assertThat(outputMessage.getHeaders()).doesNotContainKey(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void canReadAndWrite_onlyApiResponsesWritten() {
+        assertThat(converter.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+}
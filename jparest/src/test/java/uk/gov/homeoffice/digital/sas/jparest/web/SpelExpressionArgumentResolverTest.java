@@ -13,6 +13,7 @@ import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import uk.gov.homeoffice.digital.sas.jparest.exceptions.InvalidFilterException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -101,6 +102,107 @@ class SpelExpressionArgumentResolverTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    void resolveArgument_sameExpressionResolvedTwice_cachedExpressionReturned() {
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("index == 1");
+
+        var first = expressionArgumentResolver.resolveArgument(methodParameter, modelAndViewContainer,
+                nativeWebRequest, webDataBinderFactory);
+        var second = expressionArgumentResolver.resolveArgument(methodParameter, modelAndViewContainer,
+                nativeWebRequest, webDataBinderFactory);
+
+        assertThat(second).isSameAs(first);
+        assertThat(expressionArgumentResolver.getCacheStatistics().getHitCount()).isEqualTo(1);
+        assertThat(expressionArgumentResolver.getCacheStatistics().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resolveArgument_filterExceedsMaximumLength_invalidFilterExceptionThrown() {
+        var resolver = new SpelExpressionArgumentResolver(10, 100, 10, 5);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("index == 1 && index != 2");
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+                .isThrownBy(() -> resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                        nativeWebRequest, webDataBinderFactory))
+                .withMessageContaining("maximum length of 10");
+    }
+
+    @Test
+    void resolveArgument_filterExceedsMaximumDepth_invalidFilterExceptionThrown() {
+        var resolver = new SpelExpressionArgumentResolver(10, 100, 100, 2);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("!(!(!(index == 1)))");
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+                .isThrownBy(() -> resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                        nativeWebRequest, webDataBinderFactory))
+                .withMessageContaining("maximum nesting depth of 2");
+    }
+
+    @Test
+    void resolveArgument_chainOfOperatorsExceedsMaximumDepth_invalidFilterExceptionThrown() {
+        var resolver = new SpelExpressionArgumentResolver(10, 1000, 1000, 5);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn(
+                "index == 1 or index == 2 or index == 3 or index == 4 or index == 5 or index == 6");
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+                .isThrownBy(() -> resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                        nativeWebRequest, webDataBinderFactory))
+                .withMessageContaining("maximum nesting depth of 5");
+    }
+
+    @Test
+    void resolveArgument_chainOfOperatorsWithinMaximumDepth_expressionReturned() {
+        var resolver = new SpelExpressionArgumentResolver(10, 1000, 1000, 5);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn(
+                "index == 1 or index == 2 or index == 3 or index == 4");
+
+        var result = resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                nativeWebRequest, webDataBinderFactory);
+
+        assertThat(result).isInstanceOf(SpelExpression.class);
+    }
+
+    @Test
+    void resolveArgument_operatorsWithoutParenthesesExceedMaximumDepth_invalidFilterExceptionThrown() {
+        var resolver = new SpelExpressionArgumentResolver(10, 1000, 1000, 2);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("!!!(index == 1)");
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+                .isThrownBy(() -> resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                        nativeWebRequest, webDataBinderFactory))
+                .withMessageContaining("maximum nesting depth of 2");
+    }
+
+    @Test
+    void resolveArgument_nestedMethodCallsExceedMaximumDepth_invalidFilterExceptionThrown() {
+        var resolver = new SpelExpressionArgumentResolver(10, 1000, 1000, 2);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("!in(name, lower(upper(name)))");
+
+        assertThatExceptionOfType(InvalidFilterException.class)
+                .isThrownBy(() -> resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                        nativeWebRequest, webDataBinderFactory))
+                .withMessageContaining("maximum nesting depth of 2");
+    }
+
+    @Test
+    void resolveArgument_parenthesesWithinQuotedLiteral_notCountedTowardsDepth() {
+        var resolver = new SpelExpressionArgumentResolver(10, 100, 100, 1);
+        given(methodParameter.getParameterName()).willReturn(PARAMETER_NAME);
+        given(nativeWebRequest.getParameter(PARAMETER_NAME)).willReturn("in(name, '((((', \"))))\")");
+
+        var result = resolver.resolveArgument(methodParameter, modelAndViewContainer,
+                nativeWebRequest, webDataBinderFactory);
+
+        assertThat(result).isInstanceOf(SpelExpression.class);
+    }
+
     @Test
     void supportsParameter_methodParameterIsAssignableFromSpelExpression_returnsTrue() {
         doReturn(SpelExpression.class).when(methodParameter).getParameterType();
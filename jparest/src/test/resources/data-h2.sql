@@ -30,11 +30,21 @@ INSERT INTO dummy_EntityD (id, description) VALUES
     ('b7e813a2-bb28-11ec-8422-0242ac140001', 'Dummy Entity D number 1'),
     ('b7e813a2-bb28-11ec-8422-0242ac140002', 'Dummy Entity D number 2');
 
+INSERT INTO dummy_EntityI (id, tenant_id, description, line1, postcode, version) VALUES
+    ('b7e813a2-bb28-11ec-8422-0242ac150001', 'b7e813a2-bb28-11ec-8422-0242ac120002', 'Dummy Entity I number 1', '1 Dummy Street', 'AB1 2CD', 3);
+
 INSERT INTO dummy_EntityA_dummy_EntityB (dummy_EntityA, dummy_EntityB) VALUES
     ('b7e813a2-bb28-11ec-8422-0242ac110001', 'b7e813a2-bb28-11ec-8422-0242ac120001'),
     ('b7e813a2-bb28-11ec-8422-0242ac110001', 'b7e813a2-bb28-11ec-8422-0242ac120002'),
     ('b7e813a2-bb28-11ec-8422-0242ac110002', 'b7e813a2-bb28-11ec-8422-0242ac120002');
 
+INSERT INTO dummy_EntityJ (id, tenant_id) VALUES
+    ('b7e813a2-bb28-11ec-8422-0242ac160001', 'b7e813a2-bb28-11ec-8422-0242ac120002');
+
+INSERT INTO dummy_EntityJ_dummy_EntityB (dummy_EntityJ, dummy_EntityB, list_order) VALUES
+    ('b7e813a2-bb28-11ec-8422-0242ac160001', 'b7e813a2-bb28-11ec-8422-0242ac120001', 0),
+    ('b7e813a2-bb28-11ec-8422-0242ac160001', 'b7e813a2-bb28-11ec-8422-0242ac120002', 1);
+
 INSERT INTO dummy_EntityF (id, tenant_id, dummy_entityC_id) VALUES
     ('4424d0e2-e8f2-40b8-a564-f23d67e6f3a1', 'b7e813a2-bb28-11ec-8422-0242ac120002', 'b7e813a2-bb28-11ec-8422-0242ac130001'),
     ('4424d0e2-e8f2-40b8-a564-f23d67e6f3a1', 'b7e813a2-bb28-11ec-8422-0242ac120002', 'b7e813a2-bb28-11ec-8422-0242ac130001');
\ No newline at end of file
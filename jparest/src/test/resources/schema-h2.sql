@@ -36,8 +36,32 @@ CREATE TABLE dummy_EntityF
     dummy_entityC_id    varchar(36) NOT NULL REFERENCES dummy_EntityC (id)
 );
 
+CREATE TABLE dummy_EntityI
+(
+    id           varchar(36) NOT NULL PRIMARY KEY,
+    tenant_id    varchar(36) NOT NULL,
+    description  varchar(800) NULL,
+    line1        varchar(100) NULL,
+    postcode     varchar(10) NULL,
+    version      integer NOT NULL
+);
+
+CREATE TABLE dummy_EntityJ
+(
+    id           varchar(36) NOT NULL PRIMARY KEY,
+    tenant_id    varchar(36) NOT NULL
+);
+
 CREATE TABLE dummy_EntityA_dummy_EntityB
 (
     dummy_EntityA  varchar(36) NOT NULL REFERENCES dummy_EntityA (id),
     dummy_EntityB   varchar(36) NOT NULL REFERENCES dummy_EntityB (id)
 );
+
+CREATE TABLE dummy_EntityJ_dummy_EntityB
+(
+    dummy_EntityJ  varchar(36) NOT NULL REFERENCES dummy_EntityJ (id),
+    dummy_EntityB  varchar(36) NOT NULL REFERENCES dummy_EntityB (id),
+    list_order     integer NOT NULL,
+    PRIMARY KEY (dummy_EntityJ, list_order)
+);